@@ -0,0 +1,56 @@
+package neon.benchmark;
+
+import neon.core.Aspect;
+import neon.core.Engine;
+import neon.core.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AspectMatchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private Aspect[] aspects;
+    private Entity[] entities;
+
+    @Setup
+    public void setUp() {
+        Engine engine = new Engine();
+        aspects = Fixtures.createAspects(engine.getTypes(), aspectCount);
+        entities = Fixtures.addEntities(engine, entityCount);
+    }
+
+    @Benchmark
+    public int matchAspects() {
+        int matches = 0;
+        for (Aspect aspect : aspects) {
+            for (Entity entity : entities) {
+                if (aspect.matches(entity)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+}
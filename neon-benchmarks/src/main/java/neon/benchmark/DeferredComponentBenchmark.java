@@ -0,0 +1,69 @@
+package neon.benchmark;
+
+import neon.benchmark.Fixtures.Marker;
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.core.EntitySystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeferredComponentBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private Engine engine;
+
+    @Setup
+    public void setUp() {
+        engine = Fixtures.createEngine(aspectCount);
+        engine.addSystem(new ToggleSystem(Fixtures.addEntities(engine, entityCount)));
+        engine.update(0);
+    }
+
+    @Benchmark
+    public void toggleComponentDuringUpdate() {
+        engine.update(0);
+    }
+
+    private static final class ToggleSystem extends EntitySystem {
+
+        private final Entity[] entities;
+
+        ToggleSystem(Entity[] entities) {
+            this.entities = entities;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            Engine engine = getEngine();
+            for (Entity entity : entities) {
+                if (entity.hasComponent(Marker.class)) {
+                    entity.removeComponent(Marker.class);
+                } else {
+                    entity.addComponent(engine.createComponent(Marker.class));
+                }
+            }
+        }
+    }
+}
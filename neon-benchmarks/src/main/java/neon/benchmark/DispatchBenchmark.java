@@ -0,0 +1,100 @@
+package neon.benchmark;
+
+import neon.event.Event;
+import neon.event.EventListener;
+import neon.event.Signal;
+import neon.event.SignalListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "4", "16"})
+    public int listenerCount;
+
+    private Event<DamageListener> event;
+    private Signal<Integer> signal;
+    private Signal<Integer> queuedSignal;
+
+    @Setup
+    public void setUp() {
+        event = new Event<>(DamageListener.class);
+        signal = new Signal<>();
+        queuedSignal = new Signal<>(true);
+        for (int i = 0; i < listenerCount; i++) {
+            event.add(new CountingDamageListener());
+            CountingSignalListener listener = new CountingSignalListener();
+            signal.add(listener);
+            queuedSignal.add(listener);
+        }
+    }
+
+    @Benchmark
+    public void dispatchEvent() {
+        DamageListener dispatcher = event.dispatch();
+        for (int i = 0; i < entityCount; i++) {
+            dispatcher.onDamage(i, 1f);
+        }
+    }
+
+    @Benchmark
+    public void dispatchSignal() {
+        Integer value = 1;
+        for (int i = 0; i < entityCount; i++) {
+            signal.dispatch(value);
+        }
+    }
+
+    @Benchmark
+    public void dispatchQueuedSignal() {
+        Integer value = 1;
+        for (int i = 0; i < entityCount; i++) {
+            queuedSignal.dispatch(value);
+        }
+        queuedSignal.flush();
+    }
+
+    public interface DamageListener extends EventListener {
+        void onDamage(int entityId, float amount);
+    }
+
+    private static final class CountingDamageListener implements DamageListener {
+
+        float total;
+
+        @Override
+        public void onDamage(int entityId, float amount) {
+            total += amount;
+        }
+    }
+
+    private static final class CountingSignalListener implements SignalListener<Integer> {
+
+        int total;
+
+        @Override
+        public void receive(Signal<Integer> signal, Integer object) {
+            total += object;
+        }
+    }
+}
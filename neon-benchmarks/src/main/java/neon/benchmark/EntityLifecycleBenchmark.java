@@ -0,0 +1,60 @@
+package neon.benchmark;
+
+import neon.core.Engine;
+import neon.core.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityLifecycleBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private Engine engine;
+    private Entity[] entities;
+
+    @Setup
+    public void setUp() {
+        engine = Fixtures.createEngine(aspectCount);
+        entities = new Entity[entityCount];
+    }
+
+    @Benchmark
+    public void addAndRemoveEntities() {
+        for (int i = 0; i < entityCount; i++) {
+            entities[i] = Fixtures.createEntity(engine, i);
+            engine.addEntity(entities[i]);
+        }
+        for (int i = 0; i < entityCount; i++) {
+            engine.removeEntity(entities[i]);
+        }
+    }
+
+    @Benchmark
+    public void removeAllEntities() {
+        for (int i = 0; i < entityCount; i++) {
+            engine.addEntity(Fixtures.createEntity(engine, i));
+        }
+        engine.removeAllEntities();
+    }
+}
@@ -0,0 +1,115 @@
+package neon.benchmark;
+
+import neon.core.Aspect;
+import neon.core.Component;
+import neon.core.Engine;
+import neon.core.EngineTypes;
+import neon.core.Entity;
+import neon.core.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    static final int MAX_ASPECTS = 64;
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Component>[] TAGS = new Class[]{
+            Tag0.class, Tag1.class, Tag2.class, Tag3.class, Tag4.class, Tag5.class
+    };
+
+    private Fixtures() {
+    }
+
+    static Entity createEntity(Engine engine, int index) {
+        Entity entity = engine.createEntity();
+        Position position = engine.createComponent(Position.class);
+        position.x = index;
+        Velocity velocity = engine.createComponent(Velocity.class);
+        velocity.x = 1;
+        velocity.y = 1;
+        entity.addComponent(position).addComponent(velocity);
+
+        for (int i = 0; i < TAGS.length; i++) {
+            if ((index & (1 << i)) != 0) {
+                entity.addComponent(engine.createComponent(TAGS[i]));
+            }
+        }
+        return entity;
+    }
+
+    static Entity[] addEntities(Engine engine, int count) {
+        Entity[] entities = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = createEntity(engine, i);
+            engine.addEntity(entities[i]);
+        }
+        return entities;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Aspect[] createAspects(EngineTypes types, int count) {
+        if (count < 1 || count > MAX_ASPECTS) {
+            throw new IllegalArgumentException("Aspect count must be between 1 and " + MAX_ASPECTS);
+        }
+
+        Aspect[] aspects = new Aspect[count];
+        for (int i = 0; i < count; i++) {
+            List<Class<? extends Component>> componentClasses = new ArrayList<>();
+            componentClasses.add(Position.class);
+            for (int j = 0; j < TAGS.length; j++) {
+                if ((i & (1 << j)) != 0) {
+                    componentClasses.add(TAGS[j]);
+                }
+            }
+            aspects[i] = new Aspect.Builder(types).allOf(componentClasses.toArray(new Class[componentClasses.size()])).get();
+        }
+        return aspects;
+    }
+
+    static Engine createEngine(int aspectCount) {
+        Engine engine = new Engine();
+        for (Aspect aspect : createAspects(engine.getTypes(), aspectCount)) {
+            engine.getEntitiesFor(aspect);
+        }
+        return engine;
+    }
+
+    public static class Position extends Component {
+        public float x;
+        public float y;
+    }
+
+    public static class Velocity extends Component {
+        public float x;
+        public float y;
+    }
+
+    public static class Marker extends Component {
+    }
+
+    public static class Tag0 extends Component {
+    }
+
+    public static class Tag1 extends Component {
+    }
+
+    public static class Tag2 extends Component {
+    }
+
+    public static class Tag3 extends Component {
+    }
+
+    public static class Tag4 extends Component {
+    }
+
+    public static class Tag5 extends Component {
+    }
+
+    public interface MovementNode extends Node {
+        Position getPosition();
+
+        Velocity getVelocity();
+    }
+}
@@ -0,0 +1,97 @@
+package neon.benchmark;
+
+import neon.benchmark.Fixtures.MovementNode;
+import neon.benchmark.Fixtures.Position;
+import neon.benchmark.Fixtures.Velocity;
+import neon.core.Aspect;
+import neon.core.ComponentMapper;
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.core.Wire;
+import neon.system.IteratingAspectSystem;
+import neon.system.IteratingNodeSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private Engine aspectEngine;
+    private Engine nodeEngine;
+
+    @Setup
+    public void setUp() {
+        aspectEngine = Fixtures.createEngine(aspectCount);
+        aspectEngine.addSystem(new MovementAspectSystem());
+        Fixtures.addEntities(aspectEngine, entityCount);
+        aspectEngine.update(0);
+
+        nodeEngine = Fixtures.createEngine(aspectCount);
+        nodeEngine.addSystem(new MovementNodeSystem());
+        Fixtures.addEntities(nodeEngine, entityCount);
+        nodeEngine.update(0);
+    }
+
+    @Benchmark
+    public void iterateAspectSystem() {
+        aspectEngine.update(0.016f);
+    }
+
+    @Benchmark
+    public void iterateNodeSystem() {
+        nodeEngine.update(0.016f);
+    }
+
+    static final class MovementAspectSystem extends IteratingAspectSystem {
+
+        @Wire
+        ComponentMapper<Position> positions;
+        @Wire
+        ComponentMapper<Velocity> velocities;
+
+        MovementAspectSystem() {
+            super(Aspect.allOf(Position.class, Velocity.class).get());
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            Position position = positions.get(entity);
+            Velocity velocity = velocities.get(entity);
+            position.x += velocity.x * deltaTime;
+            position.y += velocity.y * deltaTime;
+        }
+    }
+
+    static final class MovementNodeSystem extends IteratingNodeSystem<MovementNode> {
+
+        @Override
+        protected void processNode(MovementNode node, float deltaTime) {
+            Position position = node.getPosition();
+            Velocity velocity = node.getVelocity();
+            position.x += velocity.x * deltaTime;
+            position.y += velocity.y * deltaTime;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package neon.benchmark;
+
+import neon.benchmark.Fixtures.MovementNode;
+import neon.core.Engine;
+import neon.core.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private Entity[] entities;
+    private MovementNode[] nodes;
+
+    @Setup
+    public void setUp() {
+        Engine engine = Fixtures.createEngine(aspectCount);
+        entities = Fixtures.addEntities(engine, entityCount);
+        nodes = new MovementNode[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            nodes[i] = entities[i].asNode(MovementNode.class);
+        }
+    }
+
+    @Benchmark
+    public void asNode(Blackhole blackhole) {
+        for (Entity entity : entities) {
+            blackhole.consume(entity.asNode(MovementNode.class));
+        }
+    }
+
+    @Benchmark
+    public void nodeGetters(Blackhole blackhole) {
+        for (MovementNode node : nodes) {
+            blackhole.consume(node.getPosition());
+            blackhole.consume(node.getVelocity());
+        }
+    }
+}
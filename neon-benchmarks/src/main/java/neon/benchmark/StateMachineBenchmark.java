@@ -0,0 +1,75 @@
+package neon.benchmark;
+
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.core.PooledComponent;
+import neon.fsm.EntityStateMachine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateMachineBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private EntityStateMachine[] stateMachines;
+    private boolean walking;
+
+    @Setup
+    public void setUp() {
+        Engine engine = Fixtures.createEngine(aspectCount);
+        Entity[] entities = Fixtures.addEntities(engine, entityCount);
+        stateMachines = new EntityStateMachine[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            EntityStateMachine stateMachine = new EntityStateMachine(entities[i]);
+            stateMachine.createState("walk").add(Walk.class);
+            stateMachine.createState("idle").add(Idle.class);
+            stateMachine.changeState("idle");
+            stateMachines[i] = stateMachine;
+        }
+    }
+
+    @Benchmark
+    public void changeState() {
+        walking = !walking;
+        String state = walking ? "walk" : "idle";
+        for (EntityStateMachine stateMachine : stateMachines) {
+            stateMachine.changeState(state);
+        }
+    }
+
+    public static class Walk extends PooledComponent {
+        public float speed;
+
+        @Override
+        protected void reset() {
+            speed = 0;
+        }
+    }
+
+    public static class Idle extends PooledComponent {
+        @Override
+        protected void reset() {
+        }
+    }
+}
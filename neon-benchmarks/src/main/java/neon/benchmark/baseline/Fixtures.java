@@ -0,0 +1,111 @@
+package neon.benchmark.baseline;
+
+import neon.core.Aspect;
+import neon.core.Component;
+import neon.core.Engine;
+import neon.core.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    static final int MAX_ASPECTS = 64;
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Component>[] TAGS = new Class[]{
+            Tag0.class, Tag1.class, Tag2.class, Tag3.class, Tag4.class, Tag5.class
+    };
+
+    private Fixtures() {
+    }
+
+    static Entity createEntity(int index) {
+        Position position = new Position();
+        position.x = index;
+        Velocity velocity = new Velocity();
+        velocity.x = 1;
+        velocity.y = 1;
+        Entity entity = new Entity().addComponent(position).addComponent(velocity);
+
+        if ((index & 1) != 0) {
+            entity.addComponent(new Tag0());
+        }
+        if ((index & 2) != 0) {
+            entity.addComponent(new Tag1());
+        }
+        if ((index & 4) != 0) {
+            entity.addComponent(new Tag2());
+        }
+        if ((index & 8) != 0) {
+            entity.addComponent(new Tag3());
+        }
+        if ((index & 16) != 0) {
+            entity.addComponent(new Tag4());
+        }
+        if ((index & 32) != 0) {
+            entity.addComponent(new Tag5());
+        }
+        return entity;
+    }
+
+    static Entity[] addEntities(Engine engine, int count) {
+        Entity[] entities = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = createEntity(i);
+            engine.addEntity(entities[i]);
+        }
+        return entities;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Engine createEngine(int aspectCount) {
+        if (aspectCount < 1 || aspectCount > MAX_ASPECTS) {
+            throw new IllegalArgumentException("Aspect count must be between 1 and " + MAX_ASPECTS);
+        }
+
+        Engine engine = new Engine();
+        for (int i = 0; i < aspectCount; i++) {
+            List<Class<? extends Component>> componentClasses = new ArrayList<>();
+            componentClasses.add(Position.class);
+            for (int j = 0; j < TAGS.length; j++) {
+                if ((i & (1 << j)) != 0) {
+                    componentClasses.add(TAGS[j]);
+                }
+            }
+            engine.getEntitiesFor(Aspect.allOf(componentClasses.toArray(new Class[componentClasses.size()])).get());
+        }
+        return engine;
+    }
+
+    public static class Position extends Component {
+        public float x;
+        public float y;
+    }
+
+    public static class Velocity extends Component {
+        public float x;
+        public float y;
+    }
+
+    public static class Marker extends Component {
+    }
+
+    public static class Tag0 extends Component {
+    }
+
+    public static class Tag1 extends Component {
+    }
+
+    public static class Tag2 extends Component {
+    }
+
+    public static class Tag3 extends Component {
+    }
+
+    public static class Tag4 extends Component {
+    }
+
+    public static class Tag5 extends Component {
+    }
+}
@@ -0,0 +1,67 @@
+package neon.benchmark.baseline;
+
+import neon.benchmark.baseline.Fixtures.Position;
+import neon.benchmark.baseline.Fixtures.Velocity;
+import neon.core.Aspect;
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.system.IteratingAspectSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"1", "16", "64"})
+    public int aspectCount;
+
+    private Engine engine;
+
+    @Setup
+    public void setUp() {
+        engine = Fixtures.createEngine(aspectCount);
+        engine.addSystem(new MovementAspectSystem());
+        Fixtures.addEntities(engine, entityCount);
+        engine.update(0);
+    }
+
+    @Benchmark
+    public void iterateAspectSystem() {
+        engine.update(0.016f);
+    }
+
+    static final class MovementAspectSystem extends IteratingAspectSystem {
+
+        @SuppressWarnings("unchecked")
+        MovementAspectSystem() {
+            super(Aspect.allOf(Position.class, Velocity.class).get());
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            Position position = entity.getComponent(Position.class);
+            Velocity velocity = entity.getComponent(Velocity.class);
+            position.x += velocity.x * deltaTime;
+            position.y += velocity.y * deltaTime;
+        }
+    }
+}
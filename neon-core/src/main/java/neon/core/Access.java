@@ -0,0 +1,17 @@
+package neon.core;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Access {
+
+    Class<? extends Component>[] read() default {};
+
+    Class<? extends Component>[] write() default {};
+}
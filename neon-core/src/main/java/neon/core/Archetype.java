@@ -0,0 +1,193 @@
+package neon.core;
+
+import neon.util.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public final class Archetype {
+
+    public static final int CHUNK_SIZE = 128;
+
+    private final EngineTypes types;
+    private final BitSet componentBits;
+    private final long signatureLow;
+    private final long signatureHigh;
+    private final int[] componentIndices;
+    private final int[] columnIndices;
+
+    private final BitSet aspectBits;
+    private final BitSet nodeBits;
+
+    private final List<Chunk> chunks;
+    private final ImmutableList<Chunk> immutableChunks;
+    private Chunk spareChunk;
+    private int size;
+
+    Archetype(EngineTypes types, BitSet componentBits) {
+        this.types = types;
+        this.componentBits = componentBits;
+        this.signatureLow = ComponentMatcher.low(componentBits);
+        this.signatureHigh = ComponentMatcher.high(componentBits);
+
+        int columnCount = 0;
+        columnIndices = new int[componentBits.length()];
+        for (int i = 0; i < columnIndices.length; i++) {
+            columnIndices[i] = -1;
+        }
+        for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+            if (!types.isPacked(i)) {
+                columnIndices[i] = columnCount++;
+            }
+        }
+        componentIndices = new int[columnCount];
+        for (int i = 0; i < columnIndices.length; i++) {
+            if (columnIndices[i] >= 0) {
+                componentIndices[columnIndices[i]] = i;
+            }
+        }
+
+        aspectBits = new BitSet();
+        nodeBits = new BitSet();
+
+        chunks = new ArrayList<>();
+        immutableChunks = new ImmutableList<>(chunks);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public ImmutableList<Chunk> getChunks() {
+        return immutableChunks;
+    }
+
+    public int getColumnCount() {
+        return componentIndices.length;
+    }
+
+    public int getColumnIndex(ComponentType componentType) {
+        return getColumnIndex(types.resolve(componentType).getIndex());
+    }
+
+    public int getColumnIndex(Class<? extends Component> componentClass) {
+        return getColumnIndex(types.getIndexFor(componentClass));
+    }
+
+    int getColumnIndex(int componentTypeIndex) {
+        return componentTypeIndex < columnIndices.length ? columnIndices[componentTypeIndex] : -1;
+    }
+
+    public boolean hasComponent(Class<? extends Component> componentClass) {
+        return componentBits.get(types.getIndexFor(componentClass));
+    }
+
+    BitSet getComponentBits() {
+        return componentBits;
+    }
+
+    long getSignatureLow() {
+        return signatureLow;
+    }
+
+    long getSignatureHigh() {
+        return signatureHigh;
+    }
+
+    BitSet getAspectBits() {
+        return aspectBits;
+    }
+
+    BitSet getNodeBits() {
+        return nodeBits;
+    }
+
+    void add(Entity entity) {
+        Chunk chunk = size % CHUNK_SIZE == 0 ? newChunk() : chunks.get(chunks.size() - 1);
+        int index = chunk.size++;
+
+        chunk.entities[index] = entity;
+        for (int column = 0; column < componentIndices.length; column++) {
+            chunk.columns[column][index] = entity.getStoredComponent(componentIndices[column]);
+        }
+
+        entity.archetype = this;
+        entity.archetypeIndex = size++;
+    }
+
+    void set(Entity entity, int column, Component component) {
+        int index = entity.archetypeIndex;
+        chunks.get(index / CHUNK_SIZE).columns[column][index % CHUNK_SIZE] = component;
+    }
+
+    void remove(Entity entity) {
+        int index = entity.archetypeIndex;
+        int lastIndex = --size;
+
+        Chunk chunk = chunks.get(index / CHUNK_SIZE);
+        Chunk lastChunk = chunks.get(lastIndex / CHUNK_SIZE);
+        int i = index % CHUNK_SIZE;
+        int j = lastIndex % CHUNK_SIZE;
+
+        if (index != lastIndex) {
+            Entity moved = lastChunk.entities[j];
+            chunk.entities[i] = moved;
+            for (int column = 0; column < componentIndices.length; column++) {
+                chunk.columns[column][i] = lastChunk.columns[column][j];
+            }
+            moved.archetypeIndex = index;
+        }
+
+        lastChunk.entities[j] = null;
+        for (int column = 0; column < componentIndices.length; column++) {
+            lastChunk.columns[column][j] = null;
+        }
+        if (--lastChunk.size == 0) {
+            spareChunk = chunks.remove(chunks.size() - 1);
+        }
+
+        entity.archetype = null;
+        entity.archetypeIndex = -1;
+    }
+
+    private Chunk newChunk() {
+        Chunk chunk = spareChunk;
+        if (chunk != null) {
+            spareChunk = null;
+        } else {
+            chunk = new Chunk(componentIndices.length);
+        }
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    public static final class Chunk {
+
+        private final Entity[] entities;
+        private final Component[][] columns;
+        private int size;
+
+        private Chunk(int columnCount) {
+            entities = new Entity[CHUNK_SIZE];
+            columns = new Component[columnCount][CHUNK_SIZE];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Entity getEntity(int index) {
+            return entities[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T extends Component> T getComponent(int column, int index) {
+            return (T) columns[column][index];
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package neon.core;
+
+import java.util.BitSet;
+
+public final class Aspect {
+
+    private static final BitSet zeroBits = new BitSet();
+
+    private final EngineTypes types;
+    private final BitSet all;
+    private final BitSet one;
+    private final BitSet exclude;
+    private final BitSet componentBits;
+    private final ComponentMatcher matcher;
+    private final int index;
+    private final int hash;
+
+    Aspect(EngineTypes types, int index, BitSet all, BitSet any, BitSet exclude) {
+        this.types = types;
+        this.all = all;
+        this.one = any;
+        this.exclude = exclude;
+        this.index = index;
+
+        componentBits = new BitSet();
+        componentBits.or(all);
+        componentBits.or(one);
+        componentBits.or(exclude);
+        matcher = ComponentMatcher.compile(all, one, exclude);
+
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + all.hashCode();
+        result = prime * result + one.hashCode();
+        result = prime * result + exclude.hashCode();
+        result = prime * result + index;
+        hash = result;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    EngineTypes getTypes() {
+        return types;
+    }
+
+    BitSet getAll() {
+        return all;
+    }
+
+    BitSet getOne() {
+        return one;
+    }
+
+    BitSet getExclude() {
+        return exclude;
+    }
+
+    BitSet getComponentBits() {
+        return componentBits;
+    }
+
+    boolean isUnconstrained() {
+        return all.isEmpty() && one.isEmpty();
+    }
+
+    public boolean matches(Entity entity) {
+        if (entity.types != types) {
+            return entity.types.resolve(this).matches(entity);
+        }
+        return matches(entity.signatureLow, entity.signatureHigh, entity.getComponentBits());
+    }
+
+    boolean matches(Archetype archetype) {
+        return matches(archetype.getSignatureLow(), archetype.getSignatureHigh(), archetype.getComponentBits());
+    }
+
+    private boolean matches(long low, long high, BitSet bits) {
+        return !bits.isEmpty() && matcher.matches(low, high, bits);
+    }
+
+    @SafeVarargs
+    public static Builder allOf(Class<? extends Component>... componentTypes) {
+        return new Builder().allOf(componentTypes);
+    }
+
+    @SafeVarargs
+    public static Builder allOfNodes(Class<? extends Node>... nodeClasses) {
+        return new Builder().allOfNodes(nodeClasses);
+    }
+
+    @SafeVarargs
+    public static Builder oneOf(Class<? extends Component>... componentTypes) {
+        return new Builder().oneOf(componentTypes);
+    }
+
+    @SafeVarargs
+    public static Builder oneOfNodes(Class<? extends Node>... nodeClasses) {
+        return new Builder().oneOfNodes(nodeClasses);
+    }
+
+    @SafeVarargs
+    public static Builder excludeOf(Class<? extends Component>... componentTypes) {
+        return new Builder().excludeOf(componentTypes);
+    }
+
+    @SafeVarargs
+    public static Builder excludeOfNodes(Class<? extends Node>... nodeClasses) {
+        return new Builder().excludeOfNodes(nodeClasses);
+    }
+
+    public static class Builder {
+        private final EngineTypes types;
+        private BitSet all;
+        private BitSet one;
+        private BitSet exclude;
+
+        public Builder() {
+            this(EngineTypes.getDefault());
+        }
+
+        public Builder(EngineTypes types) {
+            this.types = types;
+        }
+
+        public Builder reset() {
+            clear(all);
+            clear(one);
+            clear(exclude);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder allOf(Class<? extends Component>... componentClasses) {
+            all = set(all, componentClasses);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder allOfNodes(Class<? extends Node>... nodeClasses) {
+            all = setNodes(all, nodeClasses);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder oneOf(Class<? extends Component>... componentClasses) {
+            one = set(one, componentClasses);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder oneOfNodes(Class<? extends Node>... nodeClasses) {
+            one = setNodes(one, nodeClasses);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder excludeOf(Class<? extends Component>... componentClasses) {
+            exclude = set(exclude, componentClasses);
+            return this;
+        }
+
+        @SafeVarargs
+        public final Builder excludeOfNodes(Class<? extends Node>... nodeClasses) {
+            exclude = setNodes(exclude, nodeClasses);
+            return this;
+        }
+
+        public Aspect get() {
+            return types.getAspect(all != null ? all : zeroBits, one != null ? one : zeroBits,
+                    exclude != null ? exclude : zeroBits);
+        }
+
+        private BitSet set(BitSet bits, Class<? extends Component>[] componentClasses) {
+            if (bits == null) {
+                bits = new BitSet();
+            }
+            for (Class<? extends Component> componentClass : componentClasses) {
+                bits.set(types.getIndexFor(componentClass));
+            }
+            return bits;
+        }
+
+        private BitSet setNodes(BitSet bits, Class<? extends Node>[] nodeClasses) {
+            if (bits == null) {
+                bits = new BitSet();
+            }
+            for (Class<? extends Node> nodeClass : nodeClasses) {
+                bits.or(types.getNodeFamily(nodeClass).getComponentBits());
+            }
+            return bits;
+        }
+
+        private static void clear(BitSet bits) {
+            if (bits != null) {
+                bits.clear();
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Aspect)) {
+            return false;
+        }
+        Aspect other = (Aspect) obj;
+        return index == other.index && types == other.types && all.equals(other.all) && one.equals(other.one) && exclude.equals(other.exclude);
+    }
+}
@@ -0,0 +1,60 @@
+package neon.core;
+
+import neon.util.reflection.ClassReflection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public abstract class ClassMetadata<T> {
+
+    public static final String SUFFIX = "$$Metadata";
+
+    private static final ClassMetadata<Object> NONE = new ClassMetadata<Object>() {
+    };
+
+    private static final ConcurrentMap<Class<?>, ClassMetadata<?>> metadata = new ConcurrentHashMap<>();
+
+    public void inject(T object, Engine engine) {
+    }
+
+    public Class<? extends Node> getNodeClass() {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ClassMetadata<T> getFor(Class<T> c) {
+        ClassMetadata<?> classMetadata = metadata.get(c);
+
+        if (classMetadata == null) {
+            classMetadata = load(c);
+            ClassMetadata<?> existing = metadata.putIfAbsent(c, classMetadata);
+            if (existing != null) {
+                classMetadata = existing;
+            }
+        }
+
+        return classMetadata != NONE ? (ClassMetadata<T>) classMetadata : null;
+    }
+
+    private static ClassMetadata<?> load(Class<?> c) {
+        ClassLoader classLoader = c.getClassLoader();
+        if (classLoader == null) {
+            return NONE;
+        }
+
+        try {
+            Class<?> metadataClass = Class.forName(c.getName() + SUFFIX, true, classLoader);
+            return (ClassMetadata<?>) ClassReflection.newInstance(metadataClass);
+        } catch (ClassNotFoundException e) {
+            return NONE;
+        }
+    }
+
+    protected static <S extends EntitySystem> S getSystem(Engine engine, Class<S> systemClass, String fieldName) {
+        S system = engine.getSystem(systemClass);
+        if (system == null) {
+            throw new NullPointerException("Cannot bind system type " + systemClass.getName() + " for field " + fieldName);
+        }
+        return system;
+    }
+}
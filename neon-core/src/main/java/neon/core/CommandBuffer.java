@@ -0,0 +1,145 @@
+package neon.core;
+
+import neon.event.Signal;
+
+public final class CommandBuffer {
+
+    private static final byte ADD_COMPONENT = 0;
+    private static final byte REMOVE_COMPONENT = 1;
+    private static final byte REMOVE_ALL_COMPONENTS = 2;
+    private static final byte ADD_ENTITY = 3;
+    private static final byte REMOVE_ENTITY = 4;
+    private static final byte REMOVE_ALL_ENTITIES = 5;
+    private static final byte DISPATCH = 6;
+
+    private byte[] types;
+    private Entity[] entities;
+    private Object[] arguments;
+    private Signal<?>[] signals;
+    private int size;
+
+    public CommandBuffer() {
+        types = new byte[16];
+        entities = new Entity[16];
+        arguments = new Object[16];
+        signals = new Signal<?>[16];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addComponent(Entity entity, Component component) {
+        record(ADD_COMPONENT, entity, component);
+    }
+
+    public void removeComponent(Entity entity, Class<? extends Component> componentClass) {
+        record(REMOVE_COMPONENT, entity, componentClass);
+    }
+
+    public void removeAllComponents(Entity entity) {
+        record(REMOVE_ALL_COMPONENTS, entity, null);
+    }
+
+    public void addEntity(Entity entity) {
+        record(ADD_ENTITY, entity, null);
+    }
+
+    public void removeEntity(Entity entity) {
+        record(REMOVE_ENTITY, entity, null);
+    }
+
+    public void removeAllEntities() {
+        record(REMOVE_ALL_ENTITIES, null, null);
+    }
+
+    public <T> void dispatch(Signal<T> signal, T object) {
+        record(DISPATCH, null, object, signal);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entities[i] = null;
+            arguments[i] = null;
+            signals[i] = null;
+        }
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    void replay(Engine engine) {
+        for (int i = 0; i < size; i++) {
+            Entity entity = entities[i];
+            switch (types[i]) {
+                case ADD_COMPONENT:
+                    entity.addComponent((Component) arguments[i]);
+                    break;
+                case REMOVE_COMPONENT:
+                    entity.removeComponent((Class<? extends Component>) arguments[i]);
+                    break;
+                case REMOVE_ALL_COMPONENTS:
+                    entity.removeAllComponents();
+                    break;
+                case ADD_ENTITY:
+                    engine.addEntity(entity);
+                    break;
+                case REMOVE_ENTITY:
+                    engine.removeEntity(entity);
+                    break;
+                case REMOVE_ALL_ENTITIES:
+                    engine.removeAllEntities();
+                    break;
+                case DISPATCH:
+                    ((Signal<Object>) signals[i]).dispatch(arguments[i]);
+                    break;
+            }
+        }
+        clear();
+    }
+
+    void drainTo(CommandBuffer target) {
+        for (int i = 0; i < size; i++) {
+            target.record(types[i], entities[i], arguments[i], signals[i]);
+        }
+        clear();
+    }
+
+    private void record(byte type, Entity entity, Object argument) {
+        record(type, entity, argument, null);
+    }
+
+    private void record(byte type, Entity entity, Object argument, Signal<?> signal) {
+        if (size == types.length) {
+            grow();
+        }
+        types[size] = type;
+        entities[size] = entity;
+        arguments[size] = argument;
+        signals[size] = signal;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = (types.length * 3) / 2 + 1;
+
+        byte[] oldTypes = types;
+        types = new byte[capacity];
+        System.arraycopy(oldTypes, 0, types, 0, size);
+
+        Entity[] oldEntities = entities;
+        entities = new Entity[capacity];
+        System.arraycopy(oldEntities, 0, entities, 0, size);
+
+        Object[] oldArguments = arguments;
+        arguments = new Object[capacity];
+        System.arraycopy(oldArguments, 0, arguments, 0, size);
+
+        Signal<?>[] oldSignals = signals;
+        signals = new Signal<?>[capacity];
+        System.arraycopy(oldSignals, 0, signals, 0, size);
+    }
+}
@@ -0,0 +1,35 @@
+package neon.core;
+
+public class ComponentMapper<T extends Component> {
+
+    private final ComponentType componentType;
+    private final ComponentStore<T> componentStore;
+
+    private ComponentMapper(ComponentType componentType, ComponentStore<T> componentStore) {
+        this.componentType = componentType;
+        this.componentStore = componentStore;
+    }
+
+    public static <T extends Component> ComponentMapper<T> getFor(Class<T> componentClass) {
+        return new ComponentMapper<>(ComponentType.getFor(componentClass), null);
+    }
+
+    static <T extends Component> ComponentMapper<T> getFor(ComponentStore<T> componentStore) {
+        return new ComponentMapper<>(componentStore.getComponentType(), componentStore);
+    }
+
+    public T get(Entity entity) {
+        if (componentStore != null && entity.engine != null) {
+            return componentStore.get(entity);
+        }
+        return entity.getComponent(componentType);
+    }
+
+    public boolean has(Entity entity) {
+        return entity.hasComponent(componentType);
+    }
+
+    public ComponentStore<T> getComponentStore() {
+        return componentStore;
+    }
+}
@@ -0,0 +1,111 @@
+package neon.core;
+
+import java.util.BitSet;
+
+abstract class ComponentMatcher {
+
+    static final int MASK_BITS = 128;
+
+    static ComponentMatcher compile(BitSet all, BitSet one, BitSet exclude) {
+        int length = Math.max(all.length(), Math.max(one.length(), exclude.length()));
+
+        if (length <= 64) {
+            return new SingleMaskMatcher(word(all, 0), word(one, 0), word(exclude, 0));
+        } else if (length <= MASK_BITS) {
+            return new DoubleMaskMatcher(word(all, 0), word(all, 1), word(one, 0), word(one, 1),
+                    word(exclude, 0), word(exclude, 1));
+        }
+        return new BitSetMatcher(all, one, exclude);
+    }
+
+    static long low(BitSet bits) {
+        return word(bits, 0);
+    }
+
+    static long high(BitSet bits) {
+        return word(bits, 1);
+    }
+
+    private static long word(BitSet bits, int index) {
+        long[] words = bits.toLongArray();
+        return index < words.length ? words[index] : 0L;
+    }
+
+    abstract boolean matches(long low, long high, BitSet bits);
+
+    private static final class SingleMaskMatcher extends ComponentMatcher {
+
+        private final long all;
+        private final long one;
+        private final long exclude;
+
+        SingleMaskMatcher(long all, long one, long exclude) {
+            this.all = all;
+            this.one = one;
+            this.exclude = exclude;
+        }
+
+        @Override
+        boolean matches(long low, long high, BitSet bits) {
+            return (low & all) == all && (one == 0 || (low & one) != 0) && (low & exclude) == 0;
+        }
+    }
+
+    private static final class DoubleMaskMatcher extends ComponentMatcher {
+
+        private final long allLow;
+        private final long allHigh;
+        private final long oneLow;
+        private final long oneHigh;
+        private final long excludeLow;
+        private final long excludeHigh;
+
+        DoubleMaskMatcher(long allLow, long allHigh, long oneLow, long oneHigh, long excludeLow, long excludeHigh) {
+            this.allLow = allLow;
+            this.allHigh = allHigh;
+            this.oneLow = oneLow;
+            this.oneHigh = oneHigh;
+            this.excludeLow = excludeLow;
+            this.excludeHigh = excludeHigh;
+        }
+
+        @Override
+        boolean matches(long low, long high, BitSet bits) {
+            return (low & allLow) == allLow && (high & allHigh) == allHigh
+                    && ((oneLow | oneHigh) == 0 || ((low & oneLow) | (high & oneHigh)) != 0)
+                    && ((low & excludeLow) | (high & excludeHigh)) == 0;
+        }
+    }
+
+    private static final class BitSetMatcher extends ComponentMatcher {
+
+        private final BitSet all;
+        private final BitSet one;
+        private final BitSet exclude;
+
+        BitSetMatcher(BitSet all, BitSet one, BitSet exclude) {
+            this.all = all;
+            this.one = one;
+            this.exclude = exclude;
+        }
+
+        @Override
+        boolean matches(long low, long high, BitSet bits) {
+            for (int i = all.nextSetBit(0); i >= 0; i = all.nextSetBit(i + 1)) {
+                if (!bits.get(i)) {
+                    return false;
+                }
+            }
+
+            if (!one.isEmpty() && !one.intersects(bits)) {
+                return false;
+            }
+
+            if (!exclude.isEmpty() && exclude.intersects(bits)) {
+                return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package neon.core;
+
+import neon.util.Bag;
+
+import java.util.BitSet;
+
+final class ComponentOperationBuffer {
+
+    private static final byte ADD = 0;
+    private static final byte REMOVE = 1;
+    private static final byte REMOVE_ALL = 2;
+
+    private byte[] types;
+    private int[] componentTypeIndices;
+    private Component[] components;
+    private int[] next;
+    private int size;
+
+    private final Bag<Entity> entities;
+
+    ComponentOperationBuffer() {
+        types = new byte[64];
+        componentTypeIndices = new int[64];
+        components = new Component[64];
+        next = new int[64];
+        entities = new Bag<>(64);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int getOperationCount() {
+        return size;
+    }
+
+    int getEntityCount() {
+        return entities.size();
+    }
+
+    Entity getEntity(int index) {
+        return entities.get(index);
+    }
+
+    void add(Entity entity, Component component) {
+        record(entity, ADD, entity.types.getIndexFor(component.getClass()), component);
+    }
+
+    void remove(Entity entity, int componentTypeIndex) {
+        record(entity, REMOVE, componentTypeIndex, null);
+    }
+
+    void removeAll(Entity entity) {
+        record(entity, REMOVE_ALL, -1, null);
+    }
+
+    private void record(Entity entity, byte type, int componentTypeIndex, Component component) {
+        if (size == types.length) {
+            grow();
+        }
+
+        int operation = size++;
+        types[operation] = type;
+        componentTypeIndices[operation] = componentTypeIndex;
+        components[operation] = component;
+        next[operation] = -1;
+
+        if (entity.lastOperation < 0) {
+            entity.firstOperation = operation;
+            entities.add(entity);
+        } else {
+            next[entity.lastOperation] = operation;
+        }
+        entity.lastOperation = operation;
+    }
+
+    void coalesce(Entity entity, BitSet changedBits, Bag<Component> changedComponents, Engine engine) {
+        for (int operation = entity.firstOperation; operation >= 0; operation = next[operation]) {
+            switch (types[operation]) {
+                case ADD:
+                    change(entity, componentTypeIndices[operation], components[operation], changedBits, changedComponents, engine);
+                    break;
+                case REMOVE:
+                    change(entity, componentTypeIndices[operation], null, changedBits, changedComponents, engine);
+                    break;
+                case REMOVE_ALL:
+                    BitSet componentBits = entity.getComponentBits();
+                    for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+                        change(entity, i, null, changedBits, changedComponents, engine);
+                    }
+                    for (int i = changedBits.nextSetBit(0); i >= 0; i = changedBits.nextSetBit(i + 1)) {
+                        change(entity, i, null, changedBits, changedComponents, engine);
+                    }
+                    break;
+            }
+        }
+
+        entity.firstOperation = -1;
+        entity.lastOperation = -1;
+    }
+
+    private static void change(Entity entity, int componentTypeIndex, Component component,
+                               BitSet changedBits, Bag<Component> changedComponents, Engine engine) {
+        if (changedBits.get(componentTypeIndex)) {
+            Component cancelled = changedComponents.get(componentTypeIndex);
+            if (cancelled != component && cancelled instanceof PooledComponent
+                    && entity.getStoredComponent(componentTypeIndex) != cancelled) {
+                engine.freeComponent(cancelled);
+            }
+        }
+        changedBits.set(componentTypeIndex);
+        changedComponents.set(componentTypeIndex, component);
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            components[i] = null;
+        }
+        size = 0;
+        entities.clear();
+    }
+
+    private void grow() {
+        int capacity = (types.length * 3) / 2 + 1;
+
+        byte[] oldTypes = types;
+        types = new byte[capacity];
+        System.arraycopy(oldTypes, 0, types, 0, size);
+
+        int[] oldComponentTypeIndices = componentTypeIndices;
+        componentTypeIndices = new int[capacity];
+        System.arraycopy(oldComponentTypeIndices, 0, componentTypeIndices, 0, size);
+
+        Component[] oldComponents = components;
+        components = new Component[capacity];
+        System.arraycopy(oldComponents, 0, components, 0, size);
+
+        int[] oldNext = next;
+        next = new int[capacity];
+        System.arraycopy(oldNext, 0, next, 0, size);
+    }
+}
@@ -0,0 +1,115 @@
+package neon.core;
+
+public final class ComponentStore<T extends Component> {
+
+    private final ComponentType componentType;
+
+    private int[] sparse;
+    private int[] dense;
+    private Entity[] entities;
+    private Component[] components;
+    private int size;
+
+    ComponentStore(ComponentType componentType) {
+        this.componentType = componentType;
+        sparse = new int[64];
+        dense = new int[16];
+        entities = new Entity[16];
+        components = new Component[16];
+    }
+
+    public ComponentType getComponentType() {
+        return componentType;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Entity getEntity(int index) {
+        return entities[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getComponent(int index) {
+        return (T) components[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(Entity entity) {
+        int index = indexOf(entity);
+        return index >= 0 ? (T) components[index] : null;
+    }
+
+    public boolean has(Entity entity) {
+        return indexOf(entity) >= 0;
+    }
+
+    private int indexOf(Entity entity) {
+        int entityIndex = entity.index;
+        if (entityIndex < 0 || entityIndex >= sparse.length) {
+            return -1;
+        }
+        int index = sparse[entityIndex];
+        return index < size && entities[index] == entity ? index : -1;
+    }
+
+    void add(Entity entity, Component component) {
+        int index = indexOf(entity);
+        if (index >= 0) {
+            components[index] = component;
+            return;
+        }
+
+        int entityIndex = entity.index;
+        if (entityIndex >= sparse.length) {
+            sparse = grow(sparse, Math.max(sparse.length * 2, entityIndex + 1));
+        }
+        if (size == dense.length) {
+            int capacity = (size * 3) / 2 + 1;
+            dense = grow(dense, capacity);
+            Entity[] oldEntities = entities;
+            entities = new Entity[capacity];
+            System.arraycopy(oldEntities, 0, entities, 0, size);
+            Component[] oldComponents = components;
+            components = new Component[capacity];
+            System.arraycopy(oldComponents, 0, components, 0, size);
+        }
+
+        sparse[entityIndex] = size;
+        dense[size] = entityIndex;
+        entities[size] = entity;
+        components[size] = component;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    T remove(Entity entity) {
+        int index = indexOf(entity);
+        if (index < 0) {
+            return null;
+        }
+
+        T component = (T) components[index];
+        int last = --size;
+        if (index != last) {
+            dense[index] = dense[last];
+            entities[index] = entities[last];
+            components[index] = components[last];
+            sparse[dense[index]] = index;
+        }
+        entities[last] = null;
+        components[last] = null;
+        return component;
+    }
+
+    private static int[] grow(int[] data, int capacity) {
+        int[] newData = new int[capacity];
+        System.arraycopy(data, 0, newData, 0, data.length);
+        return newData;
+    }
+}
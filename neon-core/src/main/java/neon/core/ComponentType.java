@@ -1,33 +1,39 @@
 package neon.core;
 
 import java.util.BitSet;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ComponentType {
 
-    private static final Map<Class<? extends Component>, ComponentType> componentTypes = new HashMap<>();
-    private static int typeIndex = 0;
-
+    private final EngineTypes types;
+    private final Class<? extends Component> componentClass;
     private final int index;
+    private final boolean packed;
 
-    private ComponentType() {
-        index = typeIndex++;
+    ComponentType(EngineTypes types, Class<? extends Component> componentClass, int index) {
+        this.types = types;
+        this.componentClass = componentClass;
+        this.index = index;
+        packed = componentClass.isAnnotationPresent(Packed.class);
     }
 
     public int getIndex() {
         return index;
     }
 
-    public static ComponentType getFor(Class<? extends Component> componentClass) {
-        ComponentType type = componentTypes.get(componentClass);
+    public boolean isPacked() {
+        return packed;
+    }
 
-        if (type == null) {
-            type = new ComponentType();
-            componentTypes.put(componentClass, type);
-        }
+    public Class<? extends Component> getComponentClass() {
+        return componentClass;
+    }
 
-        return type;
+    EngineTypes getTypes() {
+        return types;
+    }
+
+    public static ComponentType getFor(Class<? extends Component> componentClass) {
+        return EngineTypes.getDefault().getComponentType(componentClass);
     }
 
     public static int getIndexFor(Class<? extends Component> componentClass) {
@@ -36,13 +42,7 @@ public class ComponentType {
 
     @SafeVarargs
     public static BitSet getBitsFor(Class<? extends Component>... componentClasses) {
-        BitSet bits = new BitSet();
-
-        for (Class<? extends Component> componentClass : componentClasses) {
-            bits.set(ComponentType.getIndexFor(componentClass));
-        }
-
-        return bits;
+        return EngineTypes.getDefault().getBitsFor(componentClasses);
     }
 
     @Override
@@ -62,6 +62,6 @@ public class ComponentType {
             return false;
         }
         ComponentType other = (ComponentType) obj;
-        return index == other.index;
+        return index == other.index && types == other.types;
     }
 }
@@ -0,0 +1,1812 @@
+package neon.core;
+
+import neon.event.Event;
+import neon.event.EventListener;
+import neon.event.Signal;
+import neon.event.SignalRouter;
+import neon.util.Bag;
+import neon.util.ImmutableList;
+import neon.util.IntBag;
+import neon.util.NodeCache;
+import neon.util.Pool;
+import neon.util.Pool.Disposable;
+import neon.util.reflection.ClassReflection;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Engine {
+
+    private static final SystemComparator systemComparator = new SystemComparator();
+    private static final Processor wireProcessor = new WireProcessor();
+    private static final EntityListener[] NO_ENTITY_LISTENERS = new EntityListener[0];
+    private static final NodeListener[] NO_NODE_LISTENERS = new NodeListener[0];
+
+    static final int ENTITY_INDEX_BITS = 22;
+    static final int ENTITY_INDEX_MASK = (1 << ENTITY_INDEX_BITS) - 1;
+    static final int ENTITY_GENERATION_MASK = (1 << (32 - ENTITY_INDEX_BITS)) - 1;
+    static final int ENTITY_INDEX_BLOCK_SIZE = 64;
+
+    private final EngineTypes types;
+
+    private final AtomicInteger nextEntityIndex;
+    private final IntBag freeEntityIndices;
+    private final IntBag freeEntityIndexBlocks;
+    private final IntBag entityGenerations;
+
+    private final Bag<Entity> entitiesByIndex;
+    private final List<Entity> entities;
+    private final ImmutableList<Entity> immutableEntities;
+    private EntityListener[] entityListeners;
+
+    private final EntityPool entityPool;
+
+    private final Queue<EntityOperation> entityOperations;
+    private final EntityOperationPool entityOperationPool;
+
+    private final List<EntitySystem> systems;
+    private final ImmutableList<EntitySystem> immutableSystems;
+    private final Map<Class<? extends EntitySystem>, EntitySystem> systemsByClass;
+
+    private final Map<Aspect, List<Entity>> aspects;
+    private final Map<Aspect, ImmutableList<Entity>> immutableAspects;
+    private final Map<Aspect, EntityListener[]> aspectListeners;
+    private final Map<Aspect, List<Archetype>> aspectArchetypes;
+    private final Map<Aspect, ImmutableList<Archetype>> immutableAspectArchetypes;
+
+    private final Bag<Aspect> aspectsByIndex;
+    private final Bag<List<Aspect>> aspectsByComponentType;
+    private final List<Aspect> unconstrainedAspects;
+
+    private final Map<BitSet, Archetype> archetypes;
+    private final Bag<ComponentStore<?>> componentStores;
+    private final Bag<PackedComponentStore<?>> packedComponentStores;
+    private final Bag<ComponentPool<?>> componentPools;
+
+    private final Map<NodeFamily, List<Node>> nodes;
+    private final Map<NodeFamily, ImmutableList<Node>> immutableNodes;
+    private final Map<NodeFamily, NodeListener[]> nodeListeners;
+    private final Bag<NodeFamily> nodeFamiliesByIndex;
+    private final Bag<NodeStores> nodeStores;
+    private final Bag<List<NodeFamily>> nodeFamiliesByComponentType;
+    private final List<NodeFamily> unconstrainedNodeFamilies;
+
+    private final ComponentListener componentListener;
+
+    private boolean updating;
+    private boolean notifying;
+    private boolean coalescing;
+
+    private final ComponentOperationBuffer componentOperations;
+    private final BitSet changedComponentBits;
+    private final Bag<Component> changedComponents;
+
+    private final ComponentOperationHandler componentOperationHandler;
+    private final ThreadLocal<ThreadCommands> threadCommands;
+    private volatile ThreadCommands[] registeredThreadCommands;
+    private final CommandBuffer mergedCommands;
+    private volatile Thread updateThread;
+
+    private final ConcurrentMap<Class<?>, Signal<?>> signals;
+    private final SignalRouter signalRouter;
+    private final EnumMap<UpdatePhase, List<Signal<?>>> queuedSignals;
+    private volatile IngestionQueue ingestionQueue;
+    private UpdatePhase ingestionPhase;
+    private final ConcurrentMap<Class<? extends EventListener>, Event<? extends EventListener>> events;
+
+    private final List<Processor> processors;
+
+    private ForkJoinPool forkJoinPool;
+    private SystemScheduler scheduler;
+
+    private boolean initialized;
+
+    private MetricsRecorder metrics;
+    private EngineMonitor monitor;
+
+    public Engine() {
+        this(new EngineTypes());
+    }
+
+    public Engine(EngineTypes types) {
+        this.types = types;
+        entities = new ArrayList<>();
+        immutableEntities = new ImmutableList<>(entities);
+        entitiesByIndex = new Bag<>();
+        nextEntityIndex = new AtomicInteger();
+        freeEntityIndices = new IntBag();
+        freeEntityIndexBlocks = new IntBag();
+        entityGenerations = new IntBag();
+        entityPool = new EntityPool(types);
+        entityOperations = new ArrayDeque<>();
+        entityOperationPool = new EntityOperationPool();
+
+        systems = new ArrayList<>(16);
+        immutableSystems = new ImmutableList<>(systems);
+        systemsByClass = new HashMap<>();
+
+        aspects = new HashMap<>();
+        immutableAspects = new HashMap<>();
+        entityListeners = NO_ENTITY_LISTENERS;
+        aspectListeners = new HashMap<>();
+        aspectArchetypes = new HashMap<>();
+        immutableAspectArchetypes = new HashMap<>();
+
+        aspectsByIndex = new Bag<>();
+        aspectsByComponentType = new Bag<>();
+        unconstrainedAspects = new ArrayList<>();
+
+        archetypes = new HashMap<>();
+        componentStores = new Bag<>();
+        packedComponentStores = new Bag<>();
+        componentPools = new Bag<>();
+
+        nodes = new HashMap<>();
+        immutableNodes = new HashMap<>();
+        nodeListeners = new HashMap<>();
+        nodeFamiliesByIndex = new Bag<>();
+        nodeStores = new Bag<>();
+        nodeFamiliesByComponentType = new Bag<>();
+        unconstrainedNodeFamilies = new ArrayList<>();
+
+        componentListener = new MembershipUpdater(this);
+
+        updating = false;
+        notifying = false;
+
+        componentOperations = new ComponentOperationBuffer();
+        changedComponentBits = new BitSet();
+        changedComponents = new Bag<>();
+        componentOperationHandler = new ComponentOperationHandler(this);
+        threadCommands = new ThreadLocal<ThreadCommands>() {
+            @Override
+            protected ThreadCommands initialValue() {
+                return new ThreadCommands(Thread.currentThread());
+            }
+        };
+        registeredThreadCommands = new ThreadCommands[0];
+        mergedCommands = new CommandBuffer();
+        updateThread = Thread.currentThread();
+
+        signals = new ConcurrentHashMap<>();
+        signalRouter = new DeferredSignalRouter(this);
+        queuedSignals = new EnumMap<>(UpdatePhase.class);
+        for (UpdatePhase phase : UpdatePhase.values()) {
+            queuedSignals.put(phase, new ArrayList<Signal<?>>());
+        }
+        ingestionQueue = new IngestionQueue();
+        ingestionPhase = UpdatePhase.START;
+        events = new ConcurrentHashMap<>();
+
+        processors = new ArrayList<>();
+        processors.add(wireProcessor);
+
+        initialized = false;
+    }
+
+    public EngineTypes getTypes() {
+        return types;
+    }
+
+    private int obtainEntityIndex() {
+        if (!freeEntityIndices.isEmpty()) {
+            return freeEntityIndices.removeLast();
+        }
+        int index = reserveEntityIndices(1);
+        claimEntityIndex(index);
+        return index;
+    }
+
+    private int reserveEntityIndices(int count) {
+        int index = nextEntityIndex.getAndAdd(count);
+        if (index > ENTITY_INDEX_MASK - count + 1) {
+            throw new IllegalStateException("Entity limit reached");
+        }
+        return index;
+    }
+
+    private void claimEntityIndex(int index) {
+        entityGenerations.set(index, 1);
+        entitiesByIndex.set(index, null);
+    }
+
+    private void freeEntityIndex(int index) {
+        int generation = (entityGenerations.get(index) + 1) & ENTITY_GENERATION_MASK;
+        entityGenerations.set(index, generation == 0 ? 1 : generation);
+        freeEntityIndices.add(index);
+    }
+
+    public Entity createEntity() {
+        if (isForeignThread()) {
+            Entity entity = new Entity(types);
+            entity.pooled = true;
+            return entity;
+        }
+
+        Entity entity = entityPool.obtain();
+        entity.pooled = true;
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Component> T createComponent(Class<T> componentClass) {
+        if (!PooledComponent.class.isAssignableFrom(componentClass)) {
+            return ClassReflection.newInstance(componentClass);
+        }
+
+        if (isForeignThread()) {
+            T component = ClassReflection.newInstance(componentClass);
+            ((PooledComponent) component).pooled = true;
+            return component;
+        }
+
+        PooledComponent component = getComponentPool((Class<? extends PooledComponent>) componentClass).obtain();
+        component.pooled = true;
+        return (T) component;
+    }
+
+    void freeComponent(Component component) {
+        if (component instanceof PooledComponent && ((PooledComponent) component).pooled) {
+            freePooledComponent((PooledComponent) component);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends PooledComponent> void freePooledComponent(T component) {
+        component.pooled = false;
+        getComponentPool((Class<T>) component.getClass()).free(component);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends PooledComponent> ComponentPool<T> getComponentPool(Class<T> componentClass) {
+        int componentTypeIndex = types.getIndexFor(componentClass);
+        ComponentPool<T> componentPool = null;
+
+        if (componentPools.isIndexWithinBounds(componentTypeIndex)) {
+            componentPool = (ComponentPool<T>) componentPools.get(componentTypeIndex);
+        }
+
+        if (componentPool == null) {
+            componentPool = new ComponentPool<>(componentClass);
+            componentPools.set(componentTypeIndex, componentPool);
+        }
+
+        return componentPool;
+    }
+
+    public void addEntity(Entity entity) {
+        ThreadCommands thread = threadCommands.get();
+        CommandBuffer commands = getDeferredCommands(thread);
+        if (commands != null) {
+            if (entity.index < 0 && thread.commands == commands) {
+                reserveEntityId(thread, entity);
+            }
+            synchronized (commands) {
+                commands.addEntity(entity);
+            }
+            return;
+        }
+
+        if (entity.engine == this && !entity.scheduledForRemoval) {
+            return;
+        }
+
+        if (updating || notifying) {
+            if (entity.engine != this) {
+                entity.setTypes(types);
+            }
+            EntityOperation operation = entityOperationPool.obtain();
+            operation.entity = entity;
+            operation.type = EntityOperation.Type.Add;
+            entityOperations.add(operation);
+        } else {
+            entity.setTypes(types);
+            addEntityInternal(entity);
+        }
+    }
+
+    public Entity[] spawn(EntityTemplate template, int count) {
+        Entity[] spawned = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            Entity entity = createEntity();
+            for (Class<? extends Component> componentClass : template.getComponentClasses()) {
+                entity.addInternal(createComponent(componentClass));
+            }
+            spawned[i] = entity;
+        }
+
+        if (updating || notifying || getDeferredCommands(threadCommands.get()) != null) {
+            for (Entity entity : spawned) {
+                addEntity(entity);
+            }
+        } else if (count > 0) {
+            spawnInternal(getArchetypeFor(spawned[0].getComponentBits()), spawned);
+        }
+
+        return spawned;
+    }
+
+    private void assignEntityId(Entity entity) {
+        if (entity.index >= 0) {
+            claimEntityIndex(entity.index);
+            return;
+        }
+
+        int index = obtainEntityIndex();
+        entity.index = index;
+        entity.id = entityGenerations.get(index) << ENTITY_INDEX_BITS | index;
+    }
+
+    private void reserveEntityId(ThreadCommands thread, Entity entity) {
+        if (thread.nextIndex == thread.endIndex) {
+            reserveEntityIndexBlock(thread);
+        }
+        int index = thread.nextIndex++;
+        entity.index = index;
+        entity.id = 1 << ENTITY_INDEX_BITS | index;
+    }
+
+    private synchronized void reserveEntityIndexBlock(ThreadCommands thread) {
+        if (!freeEntityIndexBlocks.isEmpty()) {
+            thread.endIndex = freeEntityIndexBlocks.removeLast();
+            thread.nextIndex = freeEntityIndexBlocks.removeLast();
+        } else {
+            thread.nextIndex = reserveEntityIndices(ENTITY_INDEX_BLOCK_SIZE);
+            thread.endIndex = thread.nextIndex + ENTITY_INDEX_BLOCK_SIZE;
+        }
+    }
+
+    public void removeEntity(Entity entity) {
+        if (entity.engine != null && entity.engine != this) {
+            return;
+        }
+
+        CommandBuffer commands = getDeferredCommands(threadCommands.get());
+        if (commands != null) {
+            synchronized (commands) {
+                commands.removeEntity(entity);
+            }
+            return;
+        }
+
+        if (updating || notifying) {
+            if (entity.scheduledForRemoval) {
+                return;
+            }
+            entity.scheduledForRemoval = true;
+            EntityOperation operation = entityOperationPool.obtain();
+            operation.entity = entity;
+            operation.type = EntityOperation.Type.Remove;
+            entityOperations.add(operation);
+        } else {
+            removeEntityInternal(entity);
+        }
+    }
+
+    public void removeAllEntities() {
+        CommandBuffer commands = getDeferredCommands(threadCommands.get());
+        if (commands != null) {
+            synchronized (commands) {
+                commands.removeAllEntities();
+            }
+            return;
+        }
+
+        if (updating || notifying) {
+            for (Entity entity : entities) {
+                entity.scheduledForRemoval = true;
+            }
+            EntityOperation operation = entityOperationPool.obtain();
+            operation.type = EntityOperation.Type.RemoveAll;
+            entityOperations.add(operation);
+        } else {
+            while (entities.size() > 0) {
+                removeEntity(entities.get(entities.size() - 1));
+            }
+        }
+    }
+
+    public CommandBuffer getCommandBuffer() {
+        return threadCommands.get().bound;
+    }
+
+    public void setCommandBuffer(CommandBuffer commands) {
+        threadCommands.get().bound = commands;
+    }
+
+    public void submit(CommandBuffer commands) {
+        CommandBuffer bound = threadCommands.get().bound;
+        if (bound != null) {
+            commands.drainTo(bound);
+        } else {
+            commands.replay(this);
+        }
+    }
+
+    private boolean isForeignThread() {
+        return updateThread != Thread.currentThread();
+    }
+
+    private CommandBuffer getDeferredCommands(ThreadCommands thread) {
+        if (thread.bound != null) {
+            return thread.bound;
+        }
+        if (isForeignThread()) {
+            if (!thread.registered) {
+                registerThreadCommands(thread);
+            }
+            return thread.commands;
+        }
+        return null;
+    }
+
+    private synchronized void registerThreadCommands(ThreadCommands thread) {
+        ThreadCommands[] registered = registeredThreadCommands;
+        ThreadCommands[] updated = new ThreadCommands[registered.length + 1];
+        int i = 0;
+        for (; i < registered.length && registered[i].threadId < thread.threadId; i++) {
+            updated[i] = registered[i];
+        }
+        updated[i] = thread;
+        System.arraycopy(registered, i, updated, i + 1, registered.length - i);
+        registeredThreadCommands = updated;
+        thread.registered = true;
+    }
+
+    private synchronized void unregisterExpiredThreadCommands() {
+        ThreadCommands[] registered = registeredThreadCommands;
+        ThreadCommands[] retained = new ThreadCommands[registered.length];
+        int count = 0;
+        for (ThreadCommands thread : registered) {
+            if (!thread.isExpired() || !thread.commands.isEmpty()) {
+                retained[count++] = thread;
+            } else if (thread.nextIndex < thread.endIndex) {
+                freeEntityIndexBlocks.add(thread.nextIndex);
+                freeEntityIndexBlocks.add(thread.endIndex);
+                thread.nextIndex = thread.endIndex;
+            }
+        }
+        registeredThreadCommands = Arrays.copyOf(retained, count);
+    }
+
+    private void mergeThreadCommands() {
+        boolean expired = false;
+        for (ThreadCommands thread : registeredThreadCommands) {
+            expired |= thread.isExpired();
+            synchronized (thread.commands) {
+                if (thread.commands.isEmpty()) {
+                    continue;
+                }
+                thread.commands.drainTo(mergedCommands);
+            }
+            mergedCommands.replay(this);
+        }
+        if (expired) {
+            unregisterExpiredThreadCommands();
+        }
+    }
+
+    int getRegisteredThreadCount() {
+        return registeredThreadCommands.length;
+    }
+
+    public Entity getEntity(int id) {
+        int index = id & ENTITY_INDEX_MASK;
+        int generation = id >>> ENTITY_INDEX_BITS;
+
+        if (index < entityGenerations.size() && entityGenerations.get(index) == generation) {
+            return entitiesByIndex.get(index);
+        }
+
+        return null;
+    }
+
+    public ImmutableList<Entity> getEntities() {
+        return immutableEntities;
+    }
+
+    public void addSystem(EntitySystem system) {
+        checkInitialized();
+        Class<? extends EntitySystem> systemType = system.getClass();
+        if (!systemsByClass.containsKey(systemType)) {
+            systems.add(system);
+            systemsByClass.put(systemType, system);
+            system.engine = this;
+            if (metrics != null) {
+                system.metrics = new MetricsRecorder.SystemRecorder();
+            }
+            system.addedToEngine();
+            Collections.sort(systems, systemComparator);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends EntitySystem> T getSystem(Class<T> systemClass) {
+        return (T) systemsByClass.get(systemClass);
+    }
+
+    public ImmutableList<EntitySystem> getSystems() {
+        return immutableSystems;
+    }
+
+    public ImmutableList<Entity> getEntitiesFor(Aspect aspect) {
+        return registerAspect(types.resolve(aspect));
+    }
+
+    public ImmutableList<Archetype> getArchetypesFor(Aspect aspect) {
+        aspect = types.resolve(aspect);
+        registerAspect(aspect);
+        return immutableAspectArchetypes.get(aspect);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Component> ComponentStore<T> getComponentStore(Class<T> componentClass) {
+        ComponentType componentType = types.getComponentType(componentClass);
+        if (componentType.isPacked()) {
+            throw new IllegalArgumentException("Component " + componentClass.getName() + " is packed");
+        }
+
+        int componentTypeIndex = componentType.getIndex();
+        ComponentStore<T> componentStore = null;
+
+        if (componentStores.isIndexWithinBounds(componentTypeIndex)) {
+            componentStore = (ComponentStore<T>) componentStores.get(componentTypeIndex);
+        }
+
+        if (componentStore == null) {
+            componentStore = new ComponentStore<>(componentType);
+            componentStores.set(componentTypeIndex, componentStore);
+        }
+
+        return componentStore;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Component> PackedComponentStore<T> getPackedComponentStore(Class<T> componentClass) {
+        ComponentType componentType = types.getComponentType(componentClass);
+        if (!componentType.isPacked()) {
+            throw new IllegalArgumentException("Component " + componentClass.getName() + " is not packed");
+        }
+
+        int componentTypeIndex = componentType.getIndex();
+        PackedComponentStore<T> componentStore = null;
+
+        if (packedComponentStores.isIndexWithinBounds(componentTypeIndex)) {
+            componentStore = (PackedComponentStore<T>) packedComponentStores.get(componentTypeIndex);
+        }
+
+        if (componentStore == null) {
+            componentStore = new PackedComponentStore<>(componentClass);
+            packedComponentStores.set(componentTypeIndex, componentStore);
+        }
+
+        return componentStore;
+    }
+
+    Component getComponent(Entity entity, int componentTypeIndex) {
+        if (componentStores.isIndexWithinBounds(componentTypeIndex)) {
+            ComponentStore<?> componentStore = componentStores.get(componentTypeIndex);
+            if (componentStore != null) {
+                return componentStore.get(entity);
+            }
+        }
+        throw new IllegalStateException("Component " + types.getComponentType(componentTypeIndex).getComponentClass().getName()
+                + " is packed, access it through its PackedComponentStore");
+    }
+
+    Component getStoredComponent(Entity entity, int componentTypeIndex) {
+        return types.isPacked(componentTypeIndex) ? null : componentStores.get(componentTypeIndex).get(entity);
+    }
+
+    public <T extends Component> ComponentMapper<T> getComponentMapper(Class<T> componentClass) {
+        return ComponentMapper.getFor(getComponentStore(componentClass));
+    }
+
+    public <T extends Node> ImmutableList<T> getNodesFor(Class<T> nodeClass) {
+        return registerNodeFamily(types.getNodeFamily(nodeClass));
+    }
+
+    public void addEntityListener(EntityListener listener) {
+        entityListeners = appendListener(entityListeners, listener);
+    }
+
+    public void addEntityListener(Aspect aspect, EntityListener listener) {
+        aspect = types.resolve(aspect);
+        registerAspect(aspect);
+        EntityListener[] listeners = aspectListeners.get(aspect);
+        aspectListeners.put(aspect, appendListener(listeners != null ? listeners : NO_ENTITY_LISTENERS, listener));
+    }
+
+    public void removeEntityListener(EntityListener listener) {
+        entityListeners = removeListener(entityListeners, listener);
+        for (Entry<Aspect, EntityListener[]> entry : aspectListeners.entrySet()) {
+            entry.setValue(removeListener(entry.getValue(), listener));
+        }
+    }
+
+    public void addNodeListener(Class<? extends Node> nodeClass, NodeListener listener) {
+        NodeFamily nodeFamily = types.getNodeFamily(nodeClass);
+        registerNodeFamily(nodeFamily);
+        NodeListener[] listeners = nodeListeners.get(nodeFamily);
+        nodeListeners.put(nodeFamily, appendListener(listeners != null ? listeners : NO_NODE_LISTENERS, listener));
+    }
+
+    public void removeNodeListener(NodeListener listener) {
+        for (Entry<NodeFamily, NodeListener[]> entry : nodeListeners.entrySet()) {
+            entry.setValue(removeListener(entry.getValue(), listener));
+        }
+    }
+
+    private static <T> T[] appendListener(T[] listeners, T listener) {
+        T[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        return newListeners;
+    }
+
+    private static <T> T[] removeListener(T[] listeners, T listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listener.equals(listeners[i])) {
+                T[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                return newListeners;
+            }
+        }
+        return listeners;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public void addProcessor(Processor processor) {
+        checkInitialized();
+        processors.add(processor);
+    }
+
+    public void processObject(Object object) {
+        for (Processor processor : processors) {
+            processor.processObject(object, this);
+        }
+    }
+
+    private void checkInitialized() {
+        if (initialized) {
+            throw new IllegalStateException("Engine has been initialized");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Signal<T> signal(Class<T> type) {
+        Signal<?> signal = signals.get(type);
+        if (signal == null) {
+            Signal<?> created = new Signal<>();
+            signal = signals.putIfAbsent(type, created);
+            if (signal == null) {
+                signal = created;
+            }
+        }
+        return (Signal<T>) signal;
+    }
+
+    public void addSignal(Signal<?> signal, UpdatePhase phase) {
+        if (!signal.isQueued()) {
+            throw new IllegalArgumentException("Signal is not queued");
+        }
+        queuedSignals.get(phase).add(signal);
+        signal.setRouter(signalRouter);
+    }
+
+    public void removeSignal(Signal<?> signal) {
+        for (List<Signal<?>> phaseSignals : queuedSignals.values()) {
+            phaseSignals.remove(signal);
+        }
+        if (signal.getRouter() == signalRouter) {
+            signal.setRouter(null);
+        }
+    }
+
+    public IngestionQueue getIngestionQueue() {
+        return ingestionQueue;
+    }
+
+    public void setIngestionQueue(IngestionQueue ingestionQueue) {
+        checkInitialized();
+        IngestionQueue previous = this.ingestionQueue;
+        previous.close();
+        drainIngestionQueue(previous);
+        this.ingestionQueue = ingestionQueue;
+    }
+
+    public UpdatePhase getIngestionPhase() {
+        return ingestionPhase;
+    }
+
+    public void setIngestionPhase(UpdatePhase ingestionPhase) {
+        this.ingestionPhase = ingestionPhase;
+    }
+
+    private int drainIngestionQueue(IngestionQueue queue) {
+        int count = queue.size();
+        for (int i = 0; i < count; i++) {
+            Object message = queue.poll();
+            if (message == null) {
+                return i;
+            }
+            if (!ingest(message)) {
+                queue.drop();
+            }
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean ingest(Object message) {
+        if (message instanceof CommandBuffer) {
+            submit((CommandBuffer) message);
+            return true;
+        }
+
+        for (Class<?> type = message.getClass(); type != null; type = type.getSuperclass()) {
+            Signal<Object> signal = (Signal<Object>) signals.get(type);
+            if (signal != null) {
+                signal.dispatch(message);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends EventListener> Event<T> event(Class<T> listenerClass) {
+        Event<? extends EventListener> event = events.get(listenerClass);
+        if (event == null) {
+            Event<? extends EventListener> created = new Event<>(listenerClass);
+            event = events.putIfAbsent(listenerClass, created);
+            if (event == null) {
+                event = created;
+            }
+        }
+        return (Event<T>) event;
+    }
+
+    public EngineMonitor getMonitor() {
+        return monitor;
+    }
+
+    public void setMonitor(EngineMonitor monitor) {
+        if (updating) {
+            throw new IllegalStateException("Cannot replace the monitor during update");
+        }
+        this.monitor = monitor;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+
+    public void setMetricsEnabled(boolean enabled) {
+        if (updating) {
+            throw new IllegalStateException("Cannot toggle metrics during update");
+        }
+        if (enabled == (metrics != null)) {
+            return;
+        }
+
+        metrics = enabled ? new MetricsRecorder() : null;
+        for (EntitySystem system : systems) {
+            system.metrics = enabled ? new MetricsRecorder.SystemRecorder() : null;
+        }
+    }
+
+    public void resetMetrics() {
+        if (metrics == null) {
+            return;
+        }
+
+        metrics.reset();
+        for (EntitySystem system : systems) {
+            system.metrics.reset();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public EngineMetrics getMetrics() {
+        if (metrics == null) {
+            throw new IllegalStateException("Metrics are not enabled");
+        }
+
+        Map<Aspect, Integer> aspectSizes = new HashMap<>();
+        for (Entry<Aspect, List<Entity>> entry : aspects.entrySet()) {
+            aspectSizes.put(entry.getKey(), entry.getValue().size());
+        }
+
+        Map<Class<? extends Node>, Integer> nodeSizes = new HashMap<>();
+        for (Entry<NodeFamily, List<Node>> entry : nodes.entrySet()) {
+            nodeSizes.put(entry.getKey().getNodeClass(), entry.getValue().size());
+        }
+
+        List<SystemMetrics> systemMetrics = new ArrayList<>(systems.size());
+        for (EntitySystem system : systems) {
+            systemMetrics.add(new SystemMetrics(system, system.metrics));
+        }
+
+        return new EngineMetrics(metrics, aspectSizes, nodeSizes, systemMetrics);
+    }
+
+    public void update(float deltaTime) {
+        initialize();
+        EngineMonitor monitor = this.monitor;
+        Object scope = monitor != null ? monitor.beginFrame(this) : null;
+        long start = metrics != null ? System.nanoTime() : 0;
+        updateThread = Thread.currentThread();
+        updating = true;
+        processOperations(null);
+        runPhase(UpdatePhase.START);
+        if (forkJoinPool != null) {
+            updateStages(deltaTime);
+        } else {
+            for (int i = 0; i < systems.size(); i++) {
+                EntitySystem system = systems.get(i);
+                if (system.isEnabled()) {
+                    system.performUpdate(deltaTime);
+                }
+                processOperations(system.metrics);
+                runPhase(UpdatePhase.AFTER_SYSTEM);
+            }
+        }
+        runPhase(UpdatePhase.END);
+        updating = false;
+        if (metrics != null) {
+            metrics.recordFrame(System.nanoTime() - start);
+        }
+        if (monitor != null) {
+            monitor.endFrame(scope, this);
+        }
+    }
+
+    private void runPhase(UpdatePhase phase) {
+        int ingested = phase == ingestionPhase ? drainIngestion(phase) : 0;
+        List<Signal<?>> phaseSignals = queuedSignals.get(phase);
+        if (ingested == 0 && phaseSignals.isEmpty()) {
+            return;
+        }
+
+        EngineMonitor monitor = this.monitor;
+        if (monitor != null) {
+            int signalCount = 0;
+            for (int i = 0; i < phaseSignals.size(); i++) {
+                signalCount += phaseSignals.get(i).getPendingCount();
+            }
+            if (signalCount > 0) {
+                Object scope = monitor.beginSignalFlush();
+                flushSignals(phaseSignals);
+                monitor.endSignalFlush(scope, phase, signalCount);
+            }
+        } else {
+            flushSignals(phaseSignals);
+        }
+        processOperations(null);
+    }
+
+    private int drainIngestion(UpdatePhase phase) {
+        IngestionQueue queue = ingestionQueue;
+        EngineMonitor monitor = this.monitor;
+        if (monitor == null || queue.isEmpty()) {
+            return drainIngestionQueue(queue);
+        }
+
+        Object scope = monitor.beginIngestion();
+        int ingested = drainIngestionQueue(queue);
+        monitor.endIngestion(scope, phase, ingested);
+        return ingested;
+    }
+
+    private static void flushSignals(List<Signal<?>> signals) {
+        for (int i = 0; i < signals.size(); i++) {
+            signals.get(i).flush();
+        }
+    }
+
+    private void updateStages(float deltaTime) {
+        List<SystemScheduler.Stage> stages = scheduler.getStages();
+        for (int i = 0; i < stages.size(); i++) {
+            SystemScheduler.Stage stage = stages.get(i);
+            if (stage.size() == 1) {
+                EntitySystem system = stage.getSystem(0);
+                if (system.isEnabled()) {
+                    system.performUpdate(deltaTime);
+                }
+                processOperations(system.metrics);
+            } else {
+                // Systems of one stage don't see each other's structural changes or queued signal dispatches;
+                // both are applied in system order once the stage ends.
+                stage.prepare(deltaTime);
+                forkJoinPool.invoke(stage);
+                stage.submit(this);
+                processOperations(null);
+            }
+            runPhase(UpdatePhase.AFTER_SYSTEM);
+        }
+    }
+
+    public void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        processSystems();
+        scheduler = new SystemScheduler(systems, types);
+        for (EntitySystem system : systems) {
+            system.initialize();
+        }
+    }
+
+    private void processSystems() {
+        for (Processor processor : processors) {
+            for (EntitySystem system : immutableSystems) {
+                processor.processObject(system, this);
+            }
+        }
+    }
+
+    private void processOperations(MetricsRecorder.SystemRecorder systemMetrics) {
+        mergeThreadCommands();
+        int componentOperationCount = processComponentOperations();
+        int entityOperationCount = processEntityOperations();
+        if (metrics != null) {
+            metrics.recordOperations(systemMetrics, componentOperationCount, entityOperationCount);
+        }
+    }
+
+    private int processComponentOperations() {
+        if (componentOperations.isEmpty()) {
+            return 0;
+        }
+
+        EngineMonitor monitor = this.monitor;
+        Object scope = monitor != null ? monitor.beginComponentOperations() : null;
+        int operationCount = componentOperations.getOperationCount();
+
+        for (int i = 0; i < componentOperations.getEntityCount(); i++) {
+            Entity entity = componentOperations.getEntity(i);
+            componentOperations.coalesce(entity, changedComponentBits, changedComponents, this);
+
+            coalescing = true;
+            for (int j = changedComponentBits.nextSetBit(0); j >= 0; j = changedComponentBits.nextSetBit(j + 1)) {
+                Component component = changedComponents.get(j);
+                changedComponents.set(j, null);
+
+                if (entity.hasComponent(j)) {
+                    if (component != null && component == entity.getStoredComponent(j)) {
+                        continue;
+                    }
+                    entity.removeInternal(j);
+                }
+                if (component != null) {
+                    entity.addInternal(component);
+                }
+            }
+            coalescing = false;
+
+            updateMembership(entity);
+            Archetype archetype = entity.archetype;
+            for (int j = changedComponentBits.nextSetBit(0); j >= 0; j = changedComponentBits.nextSetBit(j + 1)) {
+                int column = archetype.getColumnIndex(j);
+                if (column >= 0) {
+                    archetype.set(entity, column, entity.getStoredComponent(j));
+                }
+            }
+            changedComponentBits.clear();
+        }
+
+        int entityCount = componentOperations.getEntityCount();
+        componentOperations.clear();
+        if (monitor != null) {
+            monitor.endComponentOperations(scope, operationCount, entityCount);
+        }
+        return operationCount;
+    }
+
+    private int processEntityOperations() {
+        if (entityOperations.isEmpty()) {
+            return 0;
+        }
+
+        EngineMonitor monitor = this.monitor;
+        Object scope = monitor != null ? monitor.beginEntityOperations() : null;
+        int operationCount = 0;
+        while (!entityOperations.isEmpty()) {
+            EntityOperation operation = entityOperations.poll();
+            Entity entity = operation.entity;
+
+            switch (operation.type) {
+                case Add:
+                    if (entity.engine != this) {
+                        addEntityInternal(entity);
+                    }
+                    break;
+                case Remove:
+                    removeEntityInternal(entity);
+                    break;
+                case RemoveAll:
+                    while (entities.size() > 0) {
+                        removeEntityInternal(entities.get(entities.size() - 1));
+                    }
+                    break;
+            }
+            entityOperationPool.free(operation);
+            operationCount++;
+        }
+        if (monitor != null) {
+            monitor.endEntityOperations(scope, operationCount);
+        }
+        return operationCount;
+    }
+
+    protected void addEntityInternal(Entity entity) {
+        attachEntity(entity);
+        updateMembership(entity);
+
+        entity.addComponentListener(componentListener);
+        entity.componentOperationHandler = componentOperationHandler;
+
+        if (metrics != null) {
+            metrics.recordNotifications(entityListeners.length);
+        }
+        notifying = true;
+        for (EntityListener listener : entityListeners) {
+            listener.entityAdded(entity);
+        }
+        notifying = false;
+    }
+
+    private void spawnInternal(Archetype archetype, Entity[] spawned) {
+        BitSet aspectBits = archetype.getAspectBits();
+        BitSet nodeBits = archetype.getNodeBits();
+
+        for (Entity entity : spawned) {
+            attachEntity(entity);
+            archetype.add(entity);
+
+            for (int i = aspectBits.nextSetBit(0); i >= 0; i = aspectBits.nextSetBit(i + 1)) {
+                addAspectEntity(aspectsByIndex.get(i), entity);
+            }
+            entity.getAspectBits().or(aspectBits);
+
+            for (int i = nodeBits.nextSetBit(0); i >= 0; i = nodeBits.nextSetBit(i + 1)) {
+                NodeFamily nodeFamily = nodeFamiliesByIndex.get(i);
+                addNode(nodeFamily, obtainNode(nodeFamily, entity), entity);
+            }
+            entity.getNodeBits().or(nodeBits);
+
+            entity.addComponentListener(componentListener);
+            entity.componentOperationHandler = componentOperationHandler;
+        }
+
+        notifying = true;
+        for (int i = aspectBits.nextSetBit(0); i >= 0; i = aspectBits.nextSetBit(i + 1)) {
+            EntityListener[] listeners = aspectListeners.get(aspectsByIndex.get(i));
+            if (listeners != null) {
+                if (metrics != null) {
+                    metrics.recordNotifications(listeners.length * spawned.length);
+                }
+                for (EntityListener listener : listeners) {
+                    for (Entity entity : spawned) {
+                        listener.entityAdded(entity);
+                    }
+                }
+            }
+        }
+
+        for (int i = nodeBits.nextSetBit(0); i >= 0; i = nodeBits.nextSetBit(i + 1)) {
+            NodeFamily nodeFamily = nodeFamiliesByIndex.get(i);
+            NodeListener[] listeners = nodeListeners.get(nodeFamily);
+            if (listeners != null) {
+                if (metrics != null) {
+                    metrics.recordNotifications(listeners.length * spawned.length);
+                }
+                for (NodeListener listener : listeners) {
+                    for (Entity entity : spawned) {
+                        listener.nodeAdded(entity.nodeCache.get(nodeFamily.getNodeClass()));
+                    }
+                }
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordNotifications(entityListeners.length * spawned.length);
+        }
+        for (EntityListener listener : entityListeners) {
+            for (Entity entity : spawned) {
+                listener.entityAdded(entity);
+            }
+        }
+        notifying = false;
+    }
+
+    private void attachEntity(Entity entity) {
+        assignEntityId(entity);
+        entity.slot = entities.size();
+        entities.add(entity);
+        entitiesByIndex.set(entity.index, entity);
+        entity.engine = this;
+        if (entity.nodeCache == null) {
+            entity.nodeCache = new NodeCache();
+        }
+
+        BitSet componentBits = entity.getComponentBits();
+        for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+            storeComponent(entity, i, entity.releaseComponent(i));
+        }
+    }
+
+    protected void removeEntityInternal(Entity entity) {
+        entity.scheduledForRemoval = false;
+        if (entity.engine != this || entity.slot < 0) {
+            return;
+        }
+
+        Entity lastEntity = entities.remove(entities.size() - 1);
+        if (lastEntity != entity) {
+            entities.set(entity.slot, lastEntity);
+            lastEntity.slot = entity.slot;
+        }
+        entity.slot = -1;
+        entitiesByIndex.set(entity.index, null);
+
+        BitSet aspectBits = entity.getAspectBits();
+        for (int i = aspectBits.nextSetBit(0); i >= 0; i = aspectBits.nextSetBit(i + 1)) {
+            Aspect aspect = aspectsByIndex.get(i);
+            removeAspectEntity(aspect, entity);
+            aspectBits.clear(i);
+            notifyAspectListenersRemove(aspect, entity);
+        }
+
+        BitSet nodeBits = entity.getNodeBits();
+        for (int i = nodeBits.nextSetBit(0); i >= 0; i = nodeBits.nextSetBit(i + 1)) {
+            NodeFamily nodeFamily = nodeFamiliesByIndex.get(i);
+            Node node = removeNode(nodeFamily, entity);
+            nodeBits.clear(i);
+            notifyNodeListenersRemove(nodeFamily, node);
+        }
+
+        entity.archetype.remove(entity);
+        BitSet componentBits = entity.getComponentBits();
+        for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+            if (entity.pooled && types.isPacked(i)) {
+                packedComponentStores.get(i).remove(entity);
+            } else {
+                entity.restoreComponent(i, unstoreComponent(entity, i));
+            }
+        }
+        entity.engine = null;
+        freeEntityIndex(entity.index);
+        entity.index = -1;
+
+        entity.removeComponentListener(componentListener);
+        entity.componentOperationHandler = null;
+
+        if (metrics != null) {
+            metrics.recordNotifications(entityListeners.length);
+        }
+        notifying = true;
+        for (EntityListener listener : entityListeners) {
+            listener.entityRemoved(entity);
+        }
+        notifying = false;
+
+        if (entity.pooled) {
+            ImmutableList<Component> components = entity.getComponents();
+            for (int i = 0; i < components.size(); i++) {
+                freeComponent(components.get(i));
+            }
+            entity.reset();
+            entityPool.free(entity);
+        }
+    }
+
+    void storeComponent(Entity entity, int componentTypeIndex, Component component) {
+        if (types.isPacked(componentTypeIndex)) {
+            getPackedComponentStore(component.getClass()).add(entity, component);
+        } else {
+            getComponentStore(component.getClass()).add(entity, component);
+        }
+    }
+
+    Component unstoreComponent(Entity entity, int componentTypeIndex) {
+        if (types.isPacked(componentTypeIndex)) {
+            PackedComponentStore<?> componentStore = packedComponentStores.get(componentTypeIndex);
+            Component component = componentStore.copy(entity);
+            componentStore.remove(entity);
+            return component;
+        }
+        return componentStores.get(componentTypeIndex).remove(entity);
+    }
+
+    private void updateMembership(Entity entity) {
+        Archetype previous = entity.archetype;
+        updateArchetype(entity);
+        Archetype current = entity.archetype;
+
+        if (previous != current) {
+            updateAspectMembership(entity, previous, current);
+            updateNodeMembership(entity, previous, current);
+        }
+    }
+
+    private void updateArchetype(Entity entity) {
+        BitSet componentBits = entity.getComponentBits();
+        Archetype archetype = entity.archetype;
+
+        if (archetype != null) {
+            if (archetype.getComponentBits().equals(componentBits)) {
+                return;
+            }
+            archetype.remove(entity);
+        }
+
+        getArchetypeFor(componentBits).add(entity);
+    }
+
+    private Archetype getArchetypeFor(BitSet componentBits) {
+        Archetype archetype = archetypes.get(componentBits);
+
+        if (archetype == null) {
+            archetype = new Archetype(types, (BitSet) componentBits.clone());
+            archetypes.put(archetype.getComponentBits(), archetype);
+
+            for (Entry<Aspect, List<Archetype>> entry : aspectArchetypes.entrySet()) {
+                Aspect aspect = entry.getKey();
+                if (aspect.matches(archetype)) {
+                    archetype.getAspectBits().set(aspect.getIndex());
+                    entry.getValue().add(archetype);
+                }
+            }
+
+            for (NodeFamily nodeFamily : nodes.keySet()) {
+                if (nodeFamily.matches(archetype)) {
+                    archetype.getNodeBits().set(nodeFamily.getIndex());
+                }
+            }
+        }
+
+        return archetype;
+    }
+
+    private void updateAspectMembership(Entity entity, Archetype previous, Archetype current) {
+        for (int i = 0; i < unconstrainedAspects.size(); i++) {
+            updateAspectMembership(entity, unconstrainedAspects.get(i));
+        }
+
+        BitSet currentBits = current.getComponentBits();
+        BitSet previousBits = previous != null ? previous.getComponentBits() : null;
+
+        if (previousBits != null) {
+            for (int i = previousBits.nextSetBit(0); i >= 0; i = previousBits.nextSetBit(i + 1)) {
+                if (!currentBits.get(i)) {
+                    updateAspectMembership(entity, i);
+                }
+            }
+        }
+
+        for (int i = currentBits.nextSetBit(0); i >= 0; i = currentBits.nextSetBit(i + 1)) {
+            if (previousBits == null || !previousBits.get(i)) {
+                updateAspectMembership(entity, i);
+            }
+        }
+    }
+
+    private void updateAspectMembership(Entity entity, int componentTypeIndex) {
+        if (aspectsByComponentType.isIndexWithinBounds(componentTypeIndex)) {
+            List<Aspect> interestedAspects = aspectsByComponentType.get(componentTypeIndex);
+            if (interestedAspects != null) {
+                for (int i = 0; i < interestedAspects.size(); i++) {
+                    updateAspectMembership(entity, interestedAspects.get(i));
+                }
+            }
+        }
+    }
+
+    private void updateAspectMembership(Entity entity, Aspect aspect) {
+        if (metrics != null) {
+            metrics.recordMembershipEvaluation();
+        }
+        int aspectIndex = aspect.getIndex();
+
+        boolean belongsToAspect = entity.getAspectBits().get(aspectIndex);
+        boolean matches = entity.archetype.getAspectBits().get(aspectIndex);
+
+        if (!belongsToAspect && matches) {
+            addAspectEntity(aspect, entity);
+            entity.getAspectBits().set(aspectIndex);
+
+            notifyAspectListenersAdd(aspect, entity);
+        } else if (belongsToAspect && !matches) {
+            removeAspectEntity(aspect, entity);
+            entity.getAspectBits().clear(aspectIndex);
+
+            notifyAspectListenersRemove(aspect, entity);
+        }
+    }
+
+    private void notifyAspectListenersAdd(Aspect aspect, Entity entity) {
+        EntityListener[] listeners = aspectListeners.get(aspect);
+
+        if (listeners != null) {
+            if (metrics != null) {
+                metrics.recordNotifications(listeners.length);
+            }
+            notifying = true;
+            for (EntityListener listener : listeners) {
+                listener.entityAdded(entity);
+            }
+            notifying = false;
+        }
+    }
+
+    private void notifyAspectListenersRemove(Aspect aspect, Entity entity) {
+        EntityListener[] listeners = aspectListeners.get(aspect);
+
+        if (listeners != null) {
+            if (metrics != null) {
+                metrics.recordNotifications(listeners.length);
+            }
+            notifying = true;
+            for (EntityListener listener : listeners) {
+                listener.entityRemoved(entity);
+            }
+            notifying = false;
+        }
+    }
+
+    private void updateNodeMembership(Entity entity, Archetype previous, Archetype current) {
+        for (int i = 0; i < unconstrainedNodeFamilies.size(); i++) {
+            updateNodeMembership(entity, unconstrainedNodeFamilies.get(i));
+        }
+
+        BitSet currentBits = current.getComponentBits();
+        BitSet previousBits = previous != null ? previous.getComponentBits() : null;
+
+        if (previousBits != null) {
+            for (int i = previousBits.nextSetBit(0); i >= 0; i = previousBits.nextSetBit(i + 1)) {
+                if (!currentBits.get(i)) {
+                    updateNodeMembership(entity, i);
+                }
+            }
+        }
+
+        for (int i = currentBits.nextSetBit(0); i >= 0; i = currentBits.nextSetBit(i + 1)) {
+            if (previousBits == null || !previousBits.get(i)) {
+                updateNodeMembership(entity, i);
+            }
+        }
+    }
+
+    private void updateNodeMembership(Entity entity, int componentTypeIndex) {
+        if (nodeFamiliesByComponentType.isIndexWithinBounds(componentTypeIndex)) {
+            List<NodeFamily> interestedNodeFamilies = nodeFamiliesByComponentType.get(componentTypeIndex);
+            if (interestedNodeFamilies != null) {
+                for (int i = 0; i < interestedNodeFamilies.size(); i++) {
+                    updateNodeMembership(entity, interestedNodeFamilies.get(i));
+                }
+            }
+        }
+    }
+
+    private void updateNodeMembership(Entity entity, NodeFamily nodeFamily) {
+        if (metrics != null) {
+            metrics.recordMembershipEvaluation();
+        }
+        int nodeIndex = nodeFamily.getIndex();
+
+        boolean belongsToNode = entity.getNodeBits().get(nodeIndex);
+        boolean matches = entity.archetype.getNodeBits().get(nodeIndex);
+
+        if (!belongsToNode && matches) {
+            Node node = obtainNode(nodeFamily, entity);
+            addNode(nodeFamily, node, entity);
+            entity.getNodeBits().set(nodeIndex);
+            notifyNodeListenersAdd(nodeFamily, node);
+        } else if (belongsToNode && !matches) {
+            Node node = removeNode(nodeFamily, entity);
+            entity.getNodeBits().clear(nodeIndex);
+            notifyNodeListenersRemove(nodeFamily, node);
+        }
+    }
+
+    private void addAspectEntity(Aspect aspect, Entity entity) {
+        List<Entity> aspectEntities = aspects.get(aspect);
+        entity.aspectSlots.set(aspect.getIndex(), aspectEntities.size());
+        aspectEntities.add(entity);
+    }
+
+    private void removeAspectEntity(Aspect aspect, Entity entity) {
+        List<Entity> aspectEntities = aspects.get(aspect);
+        int aspectIndex = aspect.getIndex();
+        int slot = entity.aspectSlots.get(aspectIndex);
+
+        Entity lastEntity = aspectEntities.remove(aspectEntities.size() - 1);
+        if (lastEntity != entity) {
+            aspectEntities.set(slot, lastEntity);
+            lastEntity.aspectSlots.set(aspectIndex, slot);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node obtainNode(NodeFamily nodeFamily, Entity entity) {
+        Class<? extends Node> nodeClass = nodeFamily.getNodeClass();
+        Node node = entity.nodeCache.get(nodeClass);
+        if (node == null) {
+            node = nodeFamily.get(entity);
+            entity.nodeCache.put((Class<Node>) nodeClass, node);
+        }
+        if (node instanceof GeneratedNode) {
+            ((GeneratedNode) node).bind(getNodeStores(nodeFamily));
+        }
+        return node;
+    }
+
+    private NodeStores getNodeStores(NodeFamily nodeFamily) {
+        int nodeIndex = nodeFamily.getIndex();
+        NodeStores stores = nodeStores.isIndexWithinBounds(nodeIndex) ? nodeStores.get(nodeIndex) : null;
+        if (stores == null) {
+            ComponentType[] componentTypes = nodeFamily.getComponentTypes();
+            ComponentStore<?>[] componentStores = new ComponentStore<?>[componentTypes.length];
+            for (int i = 0; i < componentTypes.length; i++) {
+                componentStores[i] = getComponentStore(componentTypes[i].getComponentClass());
+            }
+            stores = new NodeStores(this, componentStores);
+            nodeStores.set(nodeIndex, stores);
+        }
+        return stores;
+    }
+
+    private void addNode(NodeFamily nodeFamily, Node node, Entity entity) {
+        List<Node> nodeEntities = nodes.get(nodeFamily);
+        entity.nodeSlots.set(nodeFamily.getIndex(), nodeEntities.size());
+        nodeEntities.add(node);
+    }
+
+    private Node removeNode(NodeFamily nodeFamily, Entity entity) {
+        List<Node> nodeEntities = nodes.get(nodeFamily);
+        int nodeIndex = nodeFamily.getIndex();
+        int slot = entity.nodeSlots.get(nodeIndex);
+
+        Node node = nodeEntities.get(slot);
+        Node lastNode = nodeEntities.remove(nodeEntities.size() - 1);
+        if (lastNode != node) {
+            nodeEntities.set(slot, lastNode);
+            lastNode.getEntity().nodeSlots.set(nodeIndex, slot);
+        }
+        return node;
+    }
+
+    private void notifyNodeListenersAdd(NodeFamily nodeFamily, Node node) {
+        NodeListener[] listeners = nodeListeners.get(nodeFamily);
+
+        if (listeners != null) {
+            if (metrics != null) {
+                metrics.recordNotifications(listeners.length);
+            }
+            notifying = true;
+            for (NodeListener listener : listeners) {
+                listener.nodeAdded(node);
+            }
+            notifying = false;
+        }
+    }
+
+    private void notifyNodeListenersRemove(NodeFamily nodeFamily, Node node) {
+        NodeListener[] listeners = nodeListeners.get(nodeFamily);
+
+        if (listeners != null) {
+            if (metrics != null) {
+                metrics.recordNotifications(listeners.length);
+            }
+            notifying = true;
+            for (NodeListener listener : listeners) {
+                listener.nodeRemoved(node);
+            }
+            notifying = false;
+        }
+    }
+
+    private ImmutableList<Entity> registerAspect(Aspect aspect) {
+        ImmutableList<Entity> immutableEntities = immutableAspects.get(aspect);
+
+        if (immutableEntities == null) {
+            EngineMonitor monitor = this.monitor;
+            Object scope = monitor != null ? monitor.beginAspectRegistration() : null;
+            List<Entity> familyEntities = new ArrayList<>(16);
+            immutableEntities = new ImmutableList<>(familyEntities);
+            aspects.put(aspect, familyEntities);
+            immutableAspects.put(aspect, immutableEntities);
+
+            indexAspect(aspect);
+
+            List<Archetype> matchingArchetypes = new ArrayList<>();
+            aspectArchetypes.put(aspect, matchingArchetypes);
+            immutableAspectArchetypes.put(aspect, new ImmutableList<>(matchingArchetypes));
+
+            for (Archetype archetype : archetypes.values()) {
+                if (aspect.matches(archetype)) {
+                    archetype.getAspectBits().set(aspect.getIndex());
+                    matchingArchetypes.add(archetype);
+                }
+            }
+
+            for (Entity e : entities) {
+                if (e.archetype.getAspectBits().get(aspect.getIndex())) {
+                    addAspectEntity(aspect, e);
+                    e.getAspectBits().set(aspect.getIndex());
+                }
+            }
+
+            if (monitor != null) {
+                monitor.endAspectRegistration(scope, aspect, familyEntities.size());
+            }
+        }
+
+        return immutableEntities;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Node> ImmutableList<T> registerNodeFamily(NodeFamily<T> nodeFamily) {
+        ImmutableList<T> immutableNodeEntities = (ImmutableList<T>) immutableNodes.get(nodeFamily);
+        if (immutableNodeEntities == null) {
+            EngineMonitor monitor = this.monitor;
+            Object scope = monitor != null ? monitor.beginNodeRegistration() : null;
+            List<T> nodeEntities = new ArrayList<>(16);
+            immutableNodeEntities = new ImmutableList<>(nodeEntities);
+            nodes.put(nodeFamily, (List<Node>) nodeEntities);
+            immutableNodes.put(nodeFamily, (ImmutableList<Node>) immutableNodeEntities);
+            indexNodeFamily(nodeFamily);
+
+            for (Archetype archetype : archetypes.values()) {
+                if (nodeFamily.matches(archetype)) {
+                    archetype.getNodeBits().set(nodeFamily.getIndex());
+                }
+            }
+
+            for (Entity e : entities) {
+                if (e.archetype.getNodeBits().get(nodeFamily.getIndex())) {
+                    addNode(nodeFamily, obtainNode(nodeFamily, e), e);
+                    e.getNodeBits().set(nodeFamily.getIndex());
+                }
+            }
+
+            if (monitor != null) {
+                monitor.endNodeRegistration(scope, nodeFamily.getNodeClass(), nodeEntities.size());
+            }
+        }
+        return immutableNodeEntities;
+    }
+
+    private void indexAspect(Aspect aspect) {
+        aspectsByIndex.set(aspect.getIndex(), aspect);
+
+        if (aspect.isUnconstrained()) {
+            unconstrainedAspects.add(aspect);
+            return;
+        }
+
+        BitSet componentBits = aspect.getComponentBits();
+
+        for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+            List<Aspect> interestedAspects = null;
+            if (aspectsByComponentType.isIndexWithinBounds(i)) {
+                interestedAspects = aspectsByComponentType.get(i);
+            }
+            if (interestedAspects == null) {
+                interestedAspects = new ArrayList<>();
+                aspectsByComponentType.set(i, interestedAspects);
+            }
+            interestedAspects.add(aspect);
+        }
+    }
+
+    private void indexNodeFamily(NodeFamily nodeFamily) {
+        nodeFamiliesByIndex.set(nodeFamily.getIndex(), nodeFamily);
+
+        BitSet componentBits = nodeFamily.getComponentBits();
+        if (componentBits.isEmpty()) {
+            unconstrainedNodeFamilies.add(nodeFamily);
+        }
+
+        for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+            List<NodeFamily> interestedNodeFamilies = null;
+            if (nodeFamiliesByComponentType.isIndexWithinBounds(i)) {
+                interestedNodeFamilies = nodeFamiliesByComponentType.get(i);
+            }
+            if (interestedNodeFamilies == null) {
+                interestedNodeFamilies = new ArrayList<>();
+                nodeFamiliesByComponentType.set(i, interestedNodeFamilies);
+            }
+            interestedNodeFamilies.add(nodeFamily);
+        }
+    }
+
+    private static class SystemComparator implements Comparator<EntitySystem> {
+        @Override
+        public int compare(EntitySystem a, EntitySystem b) {
+            return a.priority > b.priority ? 1 : (a.priority == b.priority) ? 0 : -1;
+        }
+    }
+
+    private static final class MembershipUpdater implements ComponentListener {
+        private Engine engine;
+
+        public MembershipUpdater(Engine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public void componentAdded(Entity entity, Component component) {
+            if (!engine.coalescing) {
+                engine.updateMembership(entity);
+            }
+        }
+
+        @Override
+        public void componentRemoved(Entity entity, Component component) {
+            if (!engine.coalescing) {
+                engine.updateMembership(entity);
+            }
+        }
+    }
+
+    private static final class DeferredSignalRouter implements SignalRouter {
+        private final Engine engine;
+
+        private DeferredSignalRouter(Engine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public <T> boolean route(Signal<T> signal, T object) {
+            CommandBuffer commands = engine.getDeferredCommands(engine.threadCommands.get());
+            if (commands == null) {
+                return false;
+            }
+            synchronized (commands) {
+                commands.dispatch(signal, object);
+            }
+            return true;
+        }
+    }
+
+    static final class ComponentOperationHandler {
+        private Engine engine;
+
+        private ComponentOperationHandler(Engine engine) {
+            this.engine = engine;
+        }
+
+        void add(Entity entity, Component component) {
+            CommandBuffer commands = engine.getDeferredCommands(engine.threadCommands.get());
+            if (commands != null) {
+                synchronized (commands) {
+                    commands.addComponent(entity, component);
+                }
+            } else if (engine.updating) {
+                engine.componentOperations.add(entity, component);
+            } else {
+                entity.addInternal(component);
+            }
+        }
+
+        void remove(Entity entity, Class<? extends Component> componentClass) {
+            CommandBuffer commands = engine.getDeferredCommands(engine.threadCommands.get());
+            if (commands != null) {
+                synchronized (commands) {
+                    commands.removeComponent(entity, componentClass);
+                }
+            } else if (engine.updating) {
+                engine.componentOperations.remove(entity, entity.types.getIndexFor(componentClass));
+            } else {
+                entity.removeInternal(componentClass);
+            }
+        }
+
+        void removeAll(Entity entity) {
+            CommandBuffer commands = engine.getDeferredCommands(engine.threadCommands.get());
+            if (commands != null) {
+                synchronized (commands) {
+                    commands.removeAllComponents(entity);
+                }
+            } else if (engine.updating) {
+                engine.componentOperations.removeAll(entity);
+            } else {
+                entity.removeAllInternal();
+            }
+        }
+    }
+
+    private static final class ComponentPool<T extends PooledComponent> extends Pool<T> {
+
+        private final Class<T> componentClass;
+
+        ComponentPool(Class<T> componentClass) {
+            this.componentClass = componentClass;
+        }
+
+        @Override
+        protected T newObject() {
+            return ClassReflection.newInstance(componentClass);
+        }
+
+        @Override
+        public void free(T component) {
+            component.reset();
+            super.free(component);
+        }
+    }
+
+    private static final class EntityPool extends Pool<Entity> {
+
+        private final EngineTypes types;
+
+        EntityPool(EngineTypes types) {
+            this.types = types;
+        }
+
+        @Override
+        protected Entity newObject() {
+            return new Entity(types);
+        }
+    }
+
+    private static final class EntityOperation implements Disposable {
+        enum Type {
+            Add,
+            Remove,
+            RemoveAll
+        }
+
+        Type type;
+        Entity entity;
+
+        @Override
+        public void dispose() {
+            type = null;
+            entity = null;
+        }
+    }
+
+    private static final class ThreadCommands {
+        final long threadId;
+        final WeakReference<Thread> thread;
+        final CommandBuffer commands;
+        CommandBuffer bound;
+        boolean registered;
+        int nextIndex;
+        int endIndex;
+
+        ThreadCommands(Thread thread) {
+            this.threadId = thread.getId();
+            this.thread = new WeakReference<>(thread);
+            this.commands = new CommandBuffer();
+        }
+
+        boolean isExpired() {
+            Thread thread = this.thread.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    private static final class EntityOperationPool extends Pool<EntityOperation> {
+        @Override
+        protected EntityOperation newObject() {
+            return new EntityOperation();
+        }
+    }
+}
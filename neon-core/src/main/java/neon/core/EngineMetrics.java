@@ -0,0 +1,89 @@
+package neon.core;
+
+import neon.util.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class EngineMetrics {
+
+    private final Histogram frameTimes;
+    private final Histogram membershipEvaluationsPerFrame;
+    private final long componentOperations;
+    private final long entityOperations;
+    private final long membershipEvaluations;
+    private final long lastFrameMembershipEvaluations;
+    private final long listenerNotifications;
+    private final Map<Aspect, Integer> aspectSizes;
+    private final Map<Class<? extends Node>, Integer> nodeSizes;
+    private final List<SystemMetrics> systems;
+
+    EngineMetrics(MetricsRecorder recorder, Map<Aspect, Integer> aspectSizes,
+                  Map<Class<? extends Node>, Integer> nodeSizes, List<SystemMetrics> systems) {
+        frameTimes = recorder.frameTimes.copy();
+        membershipEvaluationsPerFrame = recorder.membershipEvaluationsPerFrame.copy();
+        componentOperations = recorder.componentOperations;
+        entityOperations = recorder.entityOperations;
+        membershipEvaluations = recorder.membershipEvaluations;
+        lastFrameMembershipEvaluations = recorder.lastFrameMembershipEvaluations;
+        listenerNotifications = recorder.listenerNotifications;
+        this.aspectSizes = Collections.unmodifiableMap(aspectSizes);
+        this.nodeSizes = Collections.unmodifiableMap(nodeSizes);
+        this.systems = Collections.unmodifiableList(systems);
+    }
+
+    public long getFrameCount() {
+        return frameTimes.getCount();
+    }
+
+    public Histogram getFrameTimes() {
+        return frameTimes;
+    }
+
+    public long getComponentOperations() {
+        return componentOperations;
+    }
+
+    public long getEntityOperations() {
+        return entityOperations;
+    }
+
+    public long getMembershipEvaluations() {
+        return membershipEvaluations;
+    }
+
+    public long getLastFrameMembershipEvaluations() {
+        return lastFrameMembershipEvaluations;
+    }
+
+    public Histogram getMembershipEvaluationsPerFrame() {
+        return membershipEvaluationsPerFrame;
+    }
+
+    public long getListenerNotifications() {
+        return listenerNotifications;
+    }
+
+    public Map<Aspect, Integer> getAspectSizes() {
+        return aspectSizes;
+    }
+
+    public Map<Class<? extends Node>, Integer> getNodeSizes() {
+        return nodeSizes;
+    }
+
+    public List<SystemMetrics> getSystems() {
+        return systems;
+    }
+
+    public SystemMetrics getSystem(Class<? extends EntitySystem> systemClass) {
+        for (int i = 0; i < systems.size(); i++) {
+            SystemMetrics system = systems.get(i);
+            if (system.getSystemClass() == systemClass) {
+                return system;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package neon.core;
+
+public abstract class EngineMonitor {
+
+    public Object beginFrame(Engine engine) {
+        return null;
+    }
+
+    public void endFrame(Object scope, Engine engine) {
+    }
+
+    public Object beginSystem(EntitySystem system) {
+        return null;
+    }
+
+    public void endSystem(Object scope, EntitySystem system, int entitiesProcessed) {
+    }
+
+    public Object beginComponentOperations() {
+        return null;
+    }
+
+    public void endComponentOperations(Object scope, int operationCount, int entityCount) {
+    }
+
+    public Object beginEntityOperations() {
+        return null;
+    }
+
+    public void endEntityOperations(Object scope, int operationCount) {
+    }
+
+    public Object beginAspectRegistration() {
+        return null;
+    }
+
+    public void endAspectRegistration(Object scope, Aspect aspect, int entityCount) {
+    }
+
+    public Object beginNodeRegistration() {
+        return null;
+    }
+
+    public void endNodeRegistration(Object scope, Class<? extends Node> nodeClass, int nodeCount) {
+    }
+
+    public Object beginSignalFlush() {
+        return null;
+    }
+
+    public void endSignalFlush(Object scope, UpdatePhase phase, int signalCount) {
+    }
+
+    public Object beginIngestion() {
+        return null;
+    }
+
+    public void endIngestion(Object scope, UpdatePhase phase, int messageCount) {
+    }
+}
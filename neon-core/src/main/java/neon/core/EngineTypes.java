@@ -0,0 +1,218 @@
+package neon.core;
+
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class EngineTypes {
+
+    private static final EngineTypes defaultTypes = new EngineTypes();
+
+    private final ConcurrentMap<Class<? extends Component>, ComponentType> componentTypes;
+    private final ConcurrentMap<Class<? extends Node>, NodeFamily<?>> nodeFamilies;
+    private final ConcurrentMap<AspectKey, Aspect> aspects;
+    private final ThreadLocal<AspectKey> aspectProbes;
+
+    private volatile ComponentType[] componentTypesByIndex;
+    private volatile BitSet packedBits;
+    private int nodeFamilyCount;
+    private int aspectCount;
+
+    public EngineTypes() {
+        componentTypes = new ConcurrentHashMap<>();
+        nodeFamilies = new ConcurrentHashMap<>();
+        aspects = new ConcurrentHashMap<>();
+        aspectProbes = new ThreadLocal<AspectKey>() {
+            @Override
+            protected AspectKey initialValue() {
+                return new AspectKey();
+            }
+        };
+        componentTypesByIndex = new ComponentType[0];
+        packedBits = new BitSet();
+    }
+
+    public static EngineTypes getDefault() {
+        return defaultTypes;
+    }
+
+    public ComponentType getComponentType(Class<? extends Component> componentClass) {
+        ComponentType type = componentTypes.get(componentClass);
+
+        if (type == null) {
+            synchronized (componentTypes) {
+                type = componentTypes.get(componentClass);
+                if (type == null) {
+                    type = registerComponentType(componentClass);
+                }
+            }
+        }
+
+        return type;
+    }
+
+    private ComponentType registerComponentType(Class<? extends Component> componentClass) {
+        int index = componentTypesByIndex.length;
+        ComponentType type = new ComponentType(this, componentClass, index);
+
+        ComponentType[] types = new ComponentType[index + 1];
+        System.arraycopy(componentTypesByIndex, 0, types, 0, index);
+        types[index] = type;
+        componentTypesByIndex = types;
+
+        if (type.isPacked()) {
+            BitSet bits = (BitSet) packedBits.clone();
+            bits.set(index);
+            packedBits = bits;
+        }
+
+        componentTypes.put(componentClass, type);
+        return type;
+    }
+
+    public int getIndexFor(Class<? extends Component> componentClass) {
+        return getComponentType(componentClass).getIndex();
+    }
+
+    @SafeVarargs
+    public final BitSet getBitsFor(Class<? extends Component>... componentClasses) {
+        BitSet bits = new BitSet();
+
+        for (Class<? extends Component> componentClass : componentClasses) {
+            bits.set(getIndexFor(componentClass));
+        }
+
+        return bits;
+    }
+
+    public int getComponentTypeCount() {
+        return componentTypesByIndex.length;
+    }
+
+    ComponentType getComponentType(int index) {
+        return componentTypesByIndex[index];
+    }
+
+    boolean isPacked(int index) {
+        return packedBits.get(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Node> NodeFamily<T> getNodeFamily(Class<T> nodeClass) {
+        NodeFamily<T> nodeFamily = (NodeFamily<T>) nodeFamilies.get(nodeClass);
+
+        if (nodeFamily == null) {
+            synchronized (nodeFamilies) {
+                nodeFamily = (NodeFamily<T>) nodeFamilies.get(nodeClass);
+                if (nodeFamily == null) {
+                    nodeFamily = new NodeFamily<>(this, nodeClass, nodeFamilyCount++);
+                    nodeFamilies.put(nodeClass, nodeFamily);
+                }
+            }
+        }
+
+        return nodeFamily;
+    }
+
+    @SafeVarargs
+    public final BitSet getNodeBitsFor(Class<? extends Node>... nodeClasses) {
+        BitSet bits = new BitSet();
+
+        for (Class<? extends Node> nodeClass : nodeClasses) {
+            bits.or(getNodeFamily(nodeClass).getComponentBits());
+        }
+
+        return bits;
+    }
+
+    Aspect getAspect(BitSet all, BitSet one, BitSet exclude) {
+        AspectKey probe = aspectProbes.get();
+        Aspect aspect = aspects.get(probe.set(all, one, exclude));
+        probe.clear();
+
+        if (aspect == null) {
+            AspectKey key = new AspectKey().set((BitSet) all.clone(), (BitSet) one.clone(), (BitSet) exclude.clone());
+            synchronized (aspects) {
+                aspect = aspects.get(key);
+                if (aspect == null) {
+                    aspect = new Aspect(this, aspectCount++, key.all, key.one, key.exclude);
+                    aspects.put(key, aspect);
+                }
+            }
+        }
+
+        return aspect;
+    }
+
+    Aspect resolve(Aspect aspect) {
+        if (aspect.getTypes() == this) {
+            return aspect;
+        }
+
+        EngineTypes source = aspect.getTypes();
+        return getAspect(translate(aspect.getAll(), source), translate(aspect.getOne(), source),
+                translate(aspect.getExclude(), source));
+    }
+
+    <T extends Node> NodeFamily<T> resolve(NodeFamily<T> nodeFamily) {
+        return nodeFamily.getTypes() == this ? nodeFamily : getNodeFamily(nodeFamily.getNodeClass());
+    }
+
+    ComponentType resolve(ComponentType componentType) {
+        return componentType.getTypes() == this ? componentType : getComponentType(componentType.getComponentClass());
+    }
+
+    private BitSet translate(BitSet bits, EngineTypes source) {
+        BitSet translated = new BitSet();
+
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            translated.set(getIndexFor(source.getComponentType(i).getComponentClass()));
+        }
+
+        return translated;
+    }
+
+    private static final class AspectKey {
+        private BitSet all;
+        private BitSet one;
+        private BitSet exclude;
+        private int hash;
+
+        AspectKey set(BitSet all, BitSet one, BitSet exclude) {
+            this.all = all;
+            this.one = one;
+            this.exclude = exclude;
+
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + all.hashCode();
+            result = prime * result + one.hashCode();
+            result = prime * result + exclude.hashCode();
+            hash = result;
+            return this;
+        }
+
+        void clear() {
+            all = null;
+            one = null;
+            exclude = null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AspectKey)) {
+                return false;
+            }
+            AspectKey other = (AspectKey) obj;
+            return hash == other.hash && all.equals(other.all) && one.equals(other.one) && exclude.equals(other.exclude);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package neon.core;
+
+import neon.util.Bag;
+import neon.util.ImmutableList;
+import neon.util.IntBag;
+import neon.util.NodeCache;
+
+import java.util.*;
+
+public class Entity {
+
+	int id;
+	EngineTypes types;
+	int index = -1;
+	boolean scheduledForRemoval;
+	boolean pooled;
+	NodeCache nodeCache;
+	Engine engine;
+	Archetype archetype;
+	int archetypeIndex = -1;
+	int firstOperation = -1;
+	int lastOperation = -1;
+	int slot = -1;
+	long signatureLow;
+	long signatureHigh;
+	final IntBag aspectSlots = new IntBag();
+	final IntBag nodeSlots = new IntBag();
+	Engine.ComponentOperationHandler componentOperationHandler;
+
+	private final List<ComponentListener> listeners;
+	private final Map<Class<? extends Component>, List<ComponentListener>> listenersByComponent;
+
+	private final Bag<Component> components;
+	private final List<Component> componentsArray;
+	private final ImmutableList<Component> immutableComponentsArray;
+	private final BitSet componentBits;
+	private final BitSet aspectBits;
+	private final BitSet nodeBits;
+
+	public Entity() {
+		this(EngineTypes.getDefault());
+	}
+
+	Entity(EngineTypes types) {
+		this.types = types;
+		listeners = new ArrayList<>(16);
+		listenersByComponent = new HashMap<>();
+
+		components = new Bag<>();
+		componentsArray = new ArrayList<>(16);
+		immutableComponentsArray = new ImmutableList<>(componentsArray);
+		componentBits = new BitSet();
+		aspectBits = new BitSet();
+		nodeBits = new BitSet();
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void addComponentListener(ComponentListener listener) {
+		listeners.add(listener);
+	}
+
+	public void addComponentListener(Class<? extends Component> componentClass, ComponentListener listener) {
+		List<ComponentListener> listeners = listenersByComponent.get(componentClass);
+
+		if (listeners == null) {
+			listeners = new ArrayList<>(16);
+			listenersByComponent.put(componentClass, listeners);
+		}
+
+		listeners.add(listener);
+	}
+
+	public void removeComponentListener(ComponentListener listener) {
+		listeners.remove(listener);
+
+		for (List<ComponentListener> listeners : listenersByComponent.values()) {
+			listeners.remove(listener);
+		}
+	}
+
+	public Entity addComponent(Component component) {
+		if (componentOperationHandler != null) {
+			componentOperationHandler.add(this, component);
+		} else {
+			addInternal(component);
+		}
+		return this;
+	}
+
+	public Component removeComponent(Class<? extends Component> componentClass) {
+		Component removeComponent = getStoredComponent(types.getIndexFor(componentClass));
+		boolean recycled = engine != null && removeComponent instanceof PooledComponent
+				&& ((PooledComponent) removeComponent).pooled;
+
+		if (componentOperationHandler != null) {
+			componentOperationHandler.remove(this, componentClass);
+		} else {
+			removeInternal(componentClass);
+		}
+
+		return recycled ? null : removeComponent;
+	}
+
+	public void removeAllComponents() {
+		if (componentOperationHandler != null) {
+			componentOperationHandler.removeAll(this);
+		} else {
+			removeAllInternal();
+		}
+	}
+
+	void removeAllInternal() {
+		for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+			removeInternal(i);
+		}
+	}
+
+	public ImmutableList<Component> getComponents() {
+		// Packed components have no heap instance while attached and are read through their PackedComponentStore.
+		return immutableComponentsArray;
+	}
+
+	public <T extends Component> T getComponent(Class<T> componentClass) {
+		return getComponent(types.getIndexFor(componentClass));
+	}
+
+	<T extends Component> T getComponent(ComponentType componentType) {
+		return getComponent(types.resolve(componentType).getIndex());
+	}
+
+	@SuppressWarnings("unchecked")
+	<T extends Component> T getComponent(int componentTypeIndex) {
+		if (!componentBits.get(componentTypeIndex)) {
+			return null;
+		}
+		return (T) (engine != null ? engine.getComponent(this, componentTypeIndex) : components.get(componentTypeIndex));
+	}
+
+	Component getStoredComponent(int componentTypeIndex) {
+		if (!componentBits.get(componentTypeIndex)) {
+			return null;
+		}
+		return engine != null ? engine.getStoredComponent(this, componentTypeIndex) : components.get(componentTypeIndex);
+	}
+
+	public boolean hasComponent(Class<? extends Component> componentClass) {
+		return hasComponent(types.getIndexFor(componentClass));
+	}
+
+	boolean hasComponent(ComponentType componentType) {
+		return hasComponent(types.resolve(componentType).getIndex());
+	}
+
+	boolean hasComponent(int componentTypeIndex) {
+		return componentBits.get(componentTypeIndex);
+	}
+
+	public <T extends Node> T asNode(Class<T> nodeClass) {
+		if (nodeCache == null) {
+			return types.getNodeFamily(nodeClass).get(this);
+		}
+
+		T node = nodeCache.get(nodeClass);
+		return node != null ? node : types.getNodeFamily(nodeClass).get(this);
+	}
+
+	public boolean matchesNode(Class<? extends Node> nodeClass) {
+		return types.getNodeFamily(nodeClass).matches(this);
+	}
+
+	public Engine getEngine() {
+		return engine;
+	}
+
+	public Archetype getArchetype() {
+		return archetype;
+	}
+
+	BitSet getComponentBits() {
+		return componentBits;
+	}
+
+	BitSet getAspectBits() {
+		return aspectBits;
+	}
+
+	BitSet getNodeBits() {
+		return nodeBits;
+	}
+
+	Entity addInternal(Component component) {
+		int componentTypeIndex = types.getIndexFor(component.getClass());
+
+		if (componentBits.get(componentTypeIndex)) {
+			if (component == getStoredComponent(componentTypeIndex)) {
+				return this;
+			}
+			removeInternal(componentTypeIndex);
+		}
+
+		if (engine != null) {
+			engine.storeComponent(this, componentTypeIndex, component);
+		} else {
+			components.set(componentTypeIndex, component);
+		}
+		if (isListed(componentTypeIndex)) {
+			componentsArray.add(component);
+		}
+		componentBits.set(componentTypeIndex);
+		updateSignature(componentTypeIndex, true);
+		notifyComponentAdded(component);
+		return this;
+	}
+
+	Component removeInternal(Class<? extends Component> componentClass) {
+		return removeInternal(types.getIndexFor(componentClass));
+	}
+
+	Component removeInternal(int componentTypeIndex) {
+		if (!componentBits.get(componentTypeIndex)) {
+			return null;
+		}
+
+		Component removeComponent;
+		if (engine != null) {
+			removeComponent = engine.unstoreComponent(this, componentTypeIndex);
+		} else {
+			removeComponent = components.get(componentTypeIndex);
+			components.set(componentTypeIndex, null);
+		}
+		if (isListed(componentTypeIndex)) {
+			componentsArray.remove(removeComponent);
+		}
+		componentBits.clear(componentTypeIndex);
+		updateSignature(componentTypeIndex, false);
+		notifyComponentRemoved(removeComponent);
+
+		if (engine != null) {
+			engine.freeComponent(removeComponent);
+		}
+
+		return removeComponent;
+	}
+
+	private boolean isListed(int componentTypeIndex) {
+		return engine == null || !types.isPacked(componentTypeIndex);
+	}
+
+	private void updateSignature(int componentTypeIndex, boolean set) {
+		if (componentTypeIndex < 64) {
+			long bit = 1L << componentTypeIndex;
+			signatureLow = set ? signatureLow | bit : signatureLow & ~bit;
+		} else if (componentTypeIndex < ComponentMatcher.MASK_BITS) {
+			long bit = 1L << (componentTypeIndex - 64);
+			signatureHigh = set ? signatureHigh | bit : signatureHigh & ~bit;
+		}
+	}
+
+	void setTypes(EngineTypes types) {
+		if (this.types == types) {
+			return;
+		}
+
+		List<Component> current = new ArrayList<>(componentsArray);
+		for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+			components.set(i, null);
+		}
+		componentBits.clear();
+		signatureLow = 0;
+		signatureHigh = 0;
+
+		this.types = types;
+		for (Component component : current) {
+			int componentTypeIndex = types.getIndexFor(component.getClass());
+			components.set(componentTypeIndex, component);
+			componentBits.set(componentTypeIndex);
+			updateSignature(componentTypeIndex, true);
+		}
+	}
+
+	Component releaseComponent(int componentTypeIndex) {
+		Component component = components.get(componentTypeIndex);
+		components.set(componentTypeIndex, null);
+		if (types.isPacked(componentTypeIndex)) {
+			componentsArray.remove(component);
+		}
+		return component;
+	}
+
+	void restoreComponent(int componentTypeIndex, Component component) {
+		components.set(componentTypeIndex, component);
+		if (types.isPacked(componentTypeIndex)) {
+			componentsArray.add(component);
+		}
+	}
+
+	private void notifyComponentAdded(Component component) {
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).componentAdded(this, component);
+		}
+
+		List<ComponentListener> listeners = listenersByComponent.get(component.getClass());
+		if (listeners != null) {
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).componentAdded(this, component);
+			}
+		}
+	}
+
+	private void notifyComponentRemoved(Component component) {
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).componentRemoved(this, component);
+		}
+
+		List<ComponentListener> listeners = listenersByComponent.get(component.getClass());
+		if (listeners != null) {
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).componentRemoved(this, component);
+			}
+		}
+	}
+
+	void reset() {
+		id = 0;
+		index = -1;
+		scheduledForRemoval = false;
+		if (nodeCache != null) {
+			nodeCache.clear();
+		}
+		engine = null;
+		archetype = null;
+		archetypeIndex = -1;
+		firstOperation = -1;
+		lastOperation = -1;
+		slot = -1;
+		componentOperationHandler = null;
+
+		listeners.clear();
+		listenersByComponent.clear();
+
+		for (int i = componentBits.nextSetBit(0); i >= 0; i = componentBits.nextSetBit(i + 1)) {
+			components.set(i, null);
+		}
+		componentsArray.clear();
+		componentBits.clear();
+		signatureLow = 0;
+		signatureHigh = 0;
+		aspectBits.clear();
+		nodeBits.clear();
+	}
+
+	public boolean isScheduledForRemoval() {
+		return scheduledForRemoval;
+	}
+
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Entity)) {
+			return false;
+		}
+		Entity other = (Entity) obj;
+		return id == other.id;
+	}
+}
@@ -9,6 +9,8 @@ public abstract class EntitySystem {
     final int priority;
     private boolean enabled;
     Engine engine;
+    MetricsRecorder.SystemRecorder metrics;
+    private int processed;
 
     public EntitySystem() {
         this(0);
@@ -28,6 +30,31 @@ public abstract class EntitySystem {
     public void update(float deltaTime) {
     }
 
+    final void performUpdate(float deltaTime) {
+        MetricsRecorder.SystemRecorder metrics = this.metrics;
+        EngineMonitor monitor = engine.getMonitor();
+        if (metrics == null && monitor == null) {
+            update(deltaTime);
+            return;
+        }
+
+        Object scope = monitor != null ? monitor.beginSystem(this) : null;
+        long start = System.nanoTime();
+        processed = 0;
+        update(deltaTime);
+        if (metrics != null) {
+            metrics.updateTimes.record(System.nanoTime() - start);
+            metrics.entitiesProcessed += processed;
+        }
+        if (monitor != null) {
+            monitor.endSystem(scope, this, processed);
+        }
+    }
+
+    protected final void recordProcessed(int count) {
+        processed += count;
+    }
+
     public final Engine getEngine() {
         return engine;
     }
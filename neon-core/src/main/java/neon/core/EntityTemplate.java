@@ -0,0 +1,40 @@
+package neon.core;
+
+public final class EntityTemplate {
+
+    private final Class<? extends Component>[] componentClasses;
+
+    private EntityTemplate(Class<? extends Component>[] componentClasses) {
+        this.componentClasses = componentClasses;
+
+        for (int i = 0; i < componentClasses.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (componentClasses[i] == componentClasses[j]) {
+                    throw new IllegalArgumentException("Duplicate component " + componentClasses[i].getName() + " in template");
+                }
+            }
+        }
+    }
+
+    @SafeVarargs
+    public static EntityTemplate of(Class<? extends Component>... componentClasses) {
+        return new EntityTemplate(componentClasses.clone());
+    }
+
+    public int getComponentCount() {
+        return componentClasses.length;
+    }
+
+    public boolean hasComponent(Class<? extends Component> componentClass) {
+        for (Class<? extends Component> templateClass : componentClasses) {
+            if (templateClass == componentClass) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Class<? extends Component>[] getComponentClasses() {
+        return componentClasses;
+    }
+}
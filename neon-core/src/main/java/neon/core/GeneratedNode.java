@@ -0,0 +1,74 @@
+package neon.core;
+
+import neon.util.reflection.ClassReflection;
+
+public abstract class GeneratedNode implements Node {
+
+    public static final String SUFFIX = "$$Node";
+
+    private final Entity entity;
+    private final ComponentType[] componentTypes;
+    private NodeStores stores;
+
+    protected GeneratedNode(Entity entity, ComponentType[] componentTypes) {
+        this.entity = entity;
+        this.componentTypes = componentTypes;
+    }
+
+    protected abstract Class<?>[] getComponentClasses();
+
+    protected abstract GeneratedNode newNode(Entity entity, ComponentType[] componentTypes);
+
+    @SuppressWarnings("unchecked")
+    protected final <C extends Component> C getComponent(int index) {
+        NodeStores stores = this.stores;
+        if (stores != null && stores.engine == entity.engine) {
+            return (C) stores.get(index, entity);
+        }
+        return entity.getComponent(componentTypes[index]);
+    }
+
+    void bind(NodeStores stores) {
+        this.stores = stores;
+    }
+
+    @Override
+    public final Entity getEntity() {
+        return entity;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof Entity) {
+            return entity.equals(o);
+        }
+        return o instanceof Node && entity.equals(((Node) o).getEntity());
+    }
+
+    @Override
+    public final int hashCode() {
+        return entity.hashCode();
+    }
+
+    @Override
+    public final String toString() {
+        return entity.toString();
+    }
+
+    static GeneratedNode getGenerated(Class<? extends Node> nodeClass) {
+        ClassLoader classLoader = nodeClass.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+
+        try {
+            Class<?> generatedClass = Class.forName(nodeClass.getName() + SUFFIX, true, classLoader);
+            return (GeneratedNode) ClassReflection.newInstance(generatedClass);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package neon.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+public final class IngestionQueue {
+
+    public enum OverflowPolicy {
+        REJECT,
+        BLOCK,
+        DROP_OLDEST
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long BLOCK_PARK_NANOS = 1000L;
+
+    private final OverflowPolicy policy;
+    private final int mask;
+    private final Object[] messages;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final AtomicLong droppedCount;
+    private volatile boolean closed;
+
+    public IngestionQueue() {
+        this(DEFAULT_CAPACITY, OverflowPolicy.REJECT);
+    }
+
+    public IngestionQueue(int capacity, OverflowPolicy policy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        this.policy = policy;
+        mask = capacity - 1;
+        messages = new Object[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        head = new AtomicLong();
+        tail = new AtomicLong();
+        droppedCount = new AtomicLong();
+    }
+
+    public int getCapacity() {
+        return messages.length;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return size < 0 ? 0 : (int) Math.min(size, messages.length);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        closed = true;
+    }
+
+    public boolean offer(Object message) {
+        if (message == null) {
+            throw new NullPointerException("message");
+        }
+
+        while (true) {
+            if (closed) {
+                return false;
+            }
+
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    messages[index] = message;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                switch (policy) {
+                    case REJECT:
+                        return false;
+                    case BLOCK:
+                        LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                        if (Thread.currentThread().isInterrupted()) {
+                            return false;
+                        }
+                        break;
+                    case DROP_OLDEST:
+                        if (poll() != null) {
+                            droppedCount.incrementAndGet();
+                        }
+                        break;
+                }
+            }
+        }
+    }
+
+    void drop() {
+        droppedCount.incrementAndGet();
+    }
+
+    Object poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Object message = messages[index];
+                    messages[index] = null;
+                    sequences.lazySet(index, position + messages.length);
+                    return message;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+        }
+    }
+}
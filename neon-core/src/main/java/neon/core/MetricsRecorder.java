@@ -0,0 +1,75 @@
+package neon.core;
+
+import neon.util.Histogram;
+
+final class MetricsRecorder {
+
+    final Histogram frameTimes;
+    final Histogram membershipEvaluationsPerFrame;
+    long componentOperations;
+    long entityOperations;
+    long membershipEvaluations;
+    long frameMembershipEvaluations;
+    long lastFrameMembershipEvaluations;
+    long listenerNotifications;
+
+    MetricsRecorder() {
+        frameTimes = new Histogram();
+        membershipEvaluationsPerFrame = new Histogram();
+    }
+
+    void recordFrame(long nanos) {
+        frameTimes.record(nanos);
+        membershipEvaluationsPerFrame.record(frameMembershipEvaluations);
+        lastFrameMembershipEvaluations = frameMembershipEvaluations;
+        frameMembershipEvaluations = 0;
+    }
+
+    void recordMembershipEvaluation() {
+        membershipEvaluations++;
+        frameMembershipEvaluations++;
+    }
+
+    void recordNotifications(int count) {
+        listenerNotifications += count;
+    }
+
+    void recordOperations(SystemRecorder system, int componentOperationCount, int entityOperationCount) {
+        componentOperations += componentOperationCount;
+        entityOperations += entityOperationCount;
+        if (system != null) {
+            system.componentOperations += componentOperationCount;
+            system.entityOperations += entityOperationCount;
+        }
+    }
+
+    void reset() {
+        frameTimes.reset();
+        membershipEvaluationsPerFrame.reset();
+        componentOperations = 0;
+        entityOperations = 0;
+        membershipEvaluations = 0;
+        frameMembershipEvaluations = 0;
+        lastFrameMembershipEvaluations = 0;
+        listenerNotifications = 0;
+    }
+
+    static final class SystemRecorder {
+
+        final Histogram updateTimes;
+        long entitiesProcessed;
+        long componentOperations;
+        long entityOperations;
+
+        SystemRecorder() {
+            updateTimes = new Histogram();
+        }
+
+        void reset() {
+            updateTimes.reset();
+            entitiesProcessed = 0;
+            componentOperations = 0;
+            entityOperations = 0;
+        }
+    }
+}
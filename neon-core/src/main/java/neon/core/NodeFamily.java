@@ -0,0 +1,227 @@
+package neon.core;
+
+import neon.util.reflection.ClassReflection;
+import neon.util.reflection.Method;
+
+import java.lang.reflect.InvocationHandler;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class NodeFamily<T extends Node> {
+
+	private final EngineTypes types;
+	private final Class<T> nodeClass;
+	private final BitSet bits;
+	private final ComponentMatcher matcher;
+	private final Map<java.lang.reflect.Method, NodeMethod> nodeMethods;
+	private final GeneratedNode generatedNode;
+	private final ComponentType[] componentTypes;
+
+	private final int index;
+
+	NodeFamily(EngineTypes types, Class<T> nodeClass, int index) {
+		this.types = types;
+		this.nodeClass = nodeClass;
+		this.bits = getBitsFor(types, nodeClass);
+		this.matcher = ComponentMatcher.compile(bits, new BitSet(), new BitSet());
+		this.generatedNode = GeneratedNode.getGenerated(nodeClass);
+		if (generatedNode != null) {
+			this.componentTypes = getComponentTypesFor(types, nodeClass, generatedNode.getComponentClasses());
+			this.nodeMethods = null;
+		} else {
+			this.componentTypes = null;
+			this.nodeMethods = getNodeMethodsFor(types, nodeClass);
+		}
+		this.index = index;
+	}
+
+	private static Map<java.lang.reflect.Method, NodeMethod> getNodeMethodsFor(EngineTypes types, Class<? extends Node> nodeClass) {
+		Map<java.lang.reflect.Method, NodeMethod> nodeMethods = new HashMap<>();
+
+		for (java.lang.reflect.Method m : nodeClass.getMethods()) {
+			Method method = new Method(m);
+			if (method.isComponentMethod()) {
+				ComponentType componentType = getComponentTypeFor(types, nodeClass, method.getReturnType());
+				nodeMethods.put(m, new NodeMethod(NodeMethod.COMPONENT, componentType));
+			} else if (method.isGetEntityMethod()) {
+				nodeMethods.put(m, new NodeMethod(NodeMethod.ENTITY, null));
+			}
+		}
+
+		try {
+			nodeMethods.put(Object.class.getMethod("equals", Object.class), new NodeMethod(NodeMethod.EQUALS, null));
+			nodeMethods.put(Object.class.getMethod("hashCode"), new NodeMethod(NodeMethod.HASH_CODE, null));
+			nodeMethods.put(Object.class.getMethod("toString"), new NodeMethod(NodeMethod.TO_STRING, null));
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+
+		return nodeMethods;
+	}
+
+	private static ComponentType[] getComponentTypesFor(EngineTypes types, Class<? extends Node> nodeClass, Class<?>[] componentClasses) {
+		ComponentType[] componentTypes = new ComponentType[componentClasses.length];
+		for (int i = 0; i < componentClasses.length; i++) {
+			componentTypes[i] = getComponentTypeFor(types, nodeClass, componentClasses[i]);
+		}
+		return componentTypes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ComponentType getComponentTypeFor(EngineTypes types, Class<? extends Node> nodeClass, Class<?> componentClass) {
+		ComponentType componentType = types.getComponentType((Class<Component>) componentClass);
+		if (componentType.isPacked()) {
+			throw new IllegalArgumentException("Node " + nodeClass.getName() + " cannot expose packed component "
+					+ componentClass.getName());
+		}
+		return componentType;
+	}
+
+	private static BitSet getBitsFor(EngineTypes types, Class<? extends Node> nodeClass) {
+		BitSet bitSet = new BitSet();
+		Iterable<Class<Component>> components = ClassReflection.getComponentsFor(nodeClass);
+		for (Class<Component> component : components) {
+			int index = types.getIndexFor(component);
+			bitSet.set(index);
+		}
+		return bitSet;
+	}
+
+	@SafeVarargs
+	public static BitSet getBitsFor(Class<? extends Node>... nodeClasses) {
+		return EngineTypes.getDefault().getNodeBitsFor(nodeClasses);
+	}
+
+	public static <T extends Node> NodeFamily<T> getFor(Class<T> nodeClass) {
+		return EngineTypes.getDefault().getNodeFamily(nodeClass);
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public Class<T> getNodeClass() {
+		return nodeClass;
+	}
+
+	EngineTypes getTypes() {
+		return types;
+	}
+
+	BitSet getComponentBits() {
+		return bits;
+	}
+
+	ComponentType[] getComponentTypes() {
+		return componentTypes;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T get(Entity entity) {
+		if (generatedNode != null) {
+			return (T) generatedNode.newNode(entity, componentTypes);
+		}
+		return ClassReflection.newProxyInstance(nodeClass, new NodeProxyHandler(nodeMethods, entity));
+	}
+
+	public boolean matches(Entity entity) {
+		if (entity.types != types) {
+			return entity.types.resolve(this).matches(entity);
+		}
+		return matcher.matches(entity.signatureLow, entity.signatureHigh, entity.getComponentBits());
+	}
+
+	boolean matches(Archetype archetype) {
+		return matcher.matches(archetype.getSignatureLow(), archetype.getSignatureHigh(), archetype.getComponentBits());
+	}
+
+	private static final class NodeMethod {
+
+		static final int COMPONENT = 0;
+		static final int ENTITY = 1;
+		static final int EQUALS = 2;
+		static final int HASH_CODE = 3;
+		static final int TO_STRING = 4;
+
+		final int kind;
+		final ComponentType componentType;
+
+		NodeMethod(int kind, ComponentType componentType) {
+			this.kind = kind;
+			this.componentType = componentType;
+		}
+	}
+
+	private static final class NodeProxyHandler implements InvocationHandler {
+
+		private final Map<java.lang.reflect.Method, NodeMethod> nodeMethods;
+		private final Entity entity;
+
+		public NodeProxyHandler(Map<java.lang.reflect.Method, NodeMethod> nodeMethods, Entity entity) {
+			this.nodeMethods = nodeMethods;
+			this.entity = entity;
+		}
+
+		@Override
+		public Object invoke(Object proxy, java.lang.reflect.Method m, Object[] args) throws Throwable {
+			NodeMethod method = nodeMethods.get(m);
+
+			if (method != null) {
+				switch (method.kind) {
+					case NodeMethod.COMPONENT:
+						return entity.getComponent(method.componentType);
+					case NodeMethod.ENTITY:
+						return entity;
+					case NodeMethod.EQUALS:
+						return equals(args[0]);
+					case NodeMethod.HASH_CODE:
+						return hashCode();
+					case NodeMethod.TO_STRING:
+						return entity.toString();
+				}
+			}
+
+			throw new RuntimeException("Unknown method " + m);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null) {
+				return false;
+			}
+
+			if (o instanceof Entity) {
+				return entity.equals(o);
+			}
+			Node that = (Node) o;
+			return entity.equals(that.getEntity());
+		}
+
+		@Override
+		public int hashCode() {
+			return entity.hashCode();
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return nodeClass.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		NodeFamily that = (NodeFamily) o;
+		return types == that.types && nodeClass.equals(that.nodeClass);
+	}
+}
@@ -0,0 +1,16 @@
+package neon.core;
+
+final class NodeStores {
+
+    final Engine engine;
+    private final ComponentStore<?>[] stores;
+
+    NodeStores(Engine engine, ComponentStore<?>[] stores) {
+        this.engine = engine;
+        this.stores = stores;
+    }
+
+    Component get(int index, Entity entity) {
+        return stores[index].get(entity);
+    }
+}
@@ -0,0 +1,349 @@
+package neon.core;
+
+import neon.util.reflection.ReflectionException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class PackedComponentStore<T extends Component> {
+
+    private static final FieldComparator fieldComparator = new FieldComparator();
+
+    private final Class<T> componentClass;
+    private final Constructor<T> constructor;
+    private final PackedField[] fields;
+    private final Map<String, PackedField> fieldsByName;
+    private final int recordSize;
+
+    private ByteBuffer buffer;
+    private int[] sparse;
+    private int[] dense;
+    private Entity[] entities;
+    private int size;
+
+    PackedComponentStore(Class<T> componentClass) {
+        this.componentClass = componentClass;
+        this.constructor = getConstructor(componentClass);
+
+        List<Field> declaredFields = getPackedFields(componentClass);
+        Collections.sort(declaredFields, fieldComparator);
+
+        fields = new PackedField[declaredFields.size()];
+        fieldsByName = new HashMap<>();
+        int offset = 0;
+        int alignment = 1;
+        for (int i = 0; i < fields.length; i++) {
+            Field field = declaredFields.get(i);
+            int fieldSize = sizeOf(field.getType());
+            fields[i] = new PackedField(field, offset);
+            fieldsByName.put(field.getName(), fields[i]);
+            offset += fieldSize;
+            alignment = Math.max(alignment, fieldSize);
+        }
+        recordSize = Math.max(alignment, (offset + alignment - 1) / alignment * alignment);
+
+        buffer = ByteBuffer.allocateDirect(16 * recordSize).order(ByteOrder.nativeOrder());
+        sparse = new int[64];
+        dense = new int[16];
+        entities = new Entity[16];
+    }
+
+    public Class<T> getComponentClass() {
+        return componentClass;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    public int getFieldOffset(String name) {
+        PackedField field = fieldsByName.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field " + name + " in " + componentClass.getName());
+        }
+        return field.offset;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Entity getEntity(int index) {
+        return entities[index];
+    }
+
+    public int indexOf(Entity entity) {
+        int entityIndex = entity.index;
+        if (entityIndex < 0 || entityIndex >= sparse.length) {
+            return -1;
+        }
+        int index = sparse[entityIndex];
+        return index < size && entities[index] == entity ? index : -1;
+    }
+
+    public boolean has(Entity entity) {
+        return indexOf(entity) >= 0;
+    }
+
+    public ByteBuffer getBuffer() {
+        ByteBuffer records = buffer.duplicate().order(ByteOrder.nativeOrder());
+        records.limit(size * recordSize);
+        return records;
+    }
+
+    T copy(Entity entity) {
+        int index = indexOf(entity);
+        return index >= 0 ? read(index, newComponent()) : null;
+    }
+
+    public T get(Entity entity, T component) {
+        int index = indexOf(entity);
+        return index >= 0 ? read(index, component) : null;
+    }
+
+    public void set(Entity entity, T component) {
+        int index = indexOf(entity);
+        if (index < 0) {
+            throw new IllegalArgumentException("Entity " + entity.getId() + " has no " + componentClass.getName());
+        }
+        write(index, component);
+    }
+
+    public int getInt(int index, int offset) {
+        return buffer.getInt(index * recordSize + offset);
+    }
+
+    public void setInt(int index, int offset, int value) {
+        buffer.putInt(index * recordSize + offset, value);
+    }
+
+    public long getLong(int index, int offset) {
+        return buffer.getLong(index * recordSize + offset);
+    }
+
+    public void setLong(int index, int offset, long value) {
+        buffer.putLong(index * recordSize + offset, value);
+    }
+
+    public float getFloat(int index, int offset) {
+        return buffer.getFloat(index * recordSize + offset);
+    }
+
+    public void setFloat(int index, int offset, float value) {
+        buffer.putFloat(index * recordSize + offset, value);
+    }
+
+    public double getDouble(int index, int offset) {
+        return buffer.getDouble(index * recordSize + offset);
+    }
+
+    public void setDouble(int index, int offset, double value) {
+        buffer.putDouble(index * recordSize + offset, value);
+    }
+
+    void add(Entity entity, Component component) {
+        int index = indexOf(entity);
+        if (index < 0) {
+            index = size;
+            ensureCapacity(entity.index);
+            sparse[entity.index] = index;
+            dense[index] = entity.index;
+            entities[index] = entity;
+            size++;
+        }
+        write(index, componentClass.cast(component));
+    }
+
+    void remove(Entity entity) {
+        int index = indexOf(entity);
+        if (index < 0) {
+            return;
+        }
+
+        int last = --size;
+        if (index != last) {
+            dense[index] = dense[last];
+            entities[index] = entities[last];
+            sparse[dense[index]] = index;
+            for (int i = 0; i < recordSize; i++) {
+                buffer.put(index * recordSize + i, buffer.get(last * recordSize + i));
+            }
+        }
+        entities[last] = null;
+    }
+
+    private void ensureCapacity(int entityIndex) {
+        if (entityIndex >= sparse.length) {
+            int[] oldSparse = sparse;
+            sparse = new int[Math.max(sparse.length * 2, entityIndex + 1)];
+            System.arraycopy(oldSparse, 0, sparse, 0, oldSparse.length);
+        }
+
+        if (size == dense.length) {
+            int capacity = (size * 3) / 2 + 1;
+
+            int[] oldDense = dense;
+            dense = new int[capacity];
+            System.arraycopy(oldDense, 0, dense, 0, size);
+
+            Entity[] oldEntities = entities;
+            entities = new Entity[capacity];
+            System.arraycopy(oldEntities, 0, entities, 0, size);
+
+            ByteBuffer oldBuffer = getBuffer();
+            buffer = ByteBuffer.allocateDirect(capacity * recordSize).order(ByteOrder.nativeOrder());
+            buffer.put(oldBuffer);
+            buffer.clear();
+        }
+    }
+
+    private T read(int index, T component) {
+        int position = index * recordSize;
+        try {
+            for (PackedField field : fields) {
+                field.read(buffer, position, component);
+            }
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException(e);
+        }
+        return component;
+    }
+
+    private void write(int index, T component) {
+        int position = index * recordSize;
+        try {
+            for (PackedField field : fields) {
+                field.write(buffer, position, component);
+            }
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException(e);
+        }
+    }
+
+    private T newComponent() {
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new ReflectionException("Could not instantiate instance of class: " + componentClass.getName(), e);
+        }
+    }
+
+    private static <T> Constructor<T> getConstructor(Class<T> componentClass) {
+        try {
+            Constructor<T> constructor = componentClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new ReflectionException("Packed component requires a no-arg constructor: " + componentClass.getName(), e);
+        }
+    }
+
+    private static List<Field> getPackedFields(Class<?> componentClass) {
+        List<Field> packedFields = new ArrayList<>();
+        Class<?> fieldsClass = componentClass;
+        while (fieldsClass != Component.class) {
+            for (Field field : fieldsClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (!field.getType().isPrimitive()) {
+                    throw new IllegalArgumentException("Packed component " + componentClass.getName()
+                            + " has non-primitive field " + field.getName());
+                }
+                field.setAccessible(true);
+                packedFields.add(field);
+            }
+            fieldsClass = fieldsClass.getSuperclass();
+        }
+        return packedFields;
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static final class PackedField {
+
+        private final Field field;
+        private final Class<?> type;
+        private final int offset;
+
+        PackedField(Field field, int offset) {
+            this.field = field;
+            this.type = field.getType();
+            this.offset = offset;
+        }
+
+        void read(ByteBuffer buffer, int position, Object component) throws IllegalAccessException {
+            int index = position + offset;
+            if (type == float.class) {
+                field.setFloat(component, buffer.getFloat(index));
+            } else if (type == int.class) {
+                field.setInt(component, buffer.getInt(index));
+            } else if (type == long.class) {
+                field.setLong(component, buffer.getLong(index));
+            } else if (type == double.class) {
+                field.setDouble(component, buffer.getDouble(index));
+            } else if (type == short.class) {
+                field.setShort(component, buffer.getShort(index));
+            } else if (type == char.class) {
+                field.setChar(component, buffer.getChar(index));
+            } else if (type == byte.class) {
+                field.setByte(component, buffer.get(index));
+            } else {
+                field.setBoolean(component, buffer.get(index) != 0);
+            }
+        }
+
+        void write(ByteBuffer buffer, int position, Object component) throws IllegalAccessException {
+            int index = position + offset;
+            if (type == float.class) {
+                buffer.putFloat(index, field.getFloat(component));
+            } else if (type == int.class) {
+                buffer.putInt(index, field.getInt(component));
+            } else if (type == long.class) {
+                buffer.putLong(index, field.getLong(component));
+            } else if (type == double.class) {
+                buffer.putDouble(index, field.getDouble(component));
+            } else if (type == short.class) {
+                buffer.putShort(index, field.getShort(component));
+            } else if (type == char.class) {
+                buffer.putChar(index, field.getChar(component));
+            } else if (type == byte.class) {
+                buffer.put(index, field.getByte(component));
+            } else {
+                buffer.put(index, (byte) (field.getBoolean(component) ? 1 : 0));
+            }
+        }
+    }
+
+    private static final class FieldComparator implements Comparator<Field> {
+        @Override
+        public int compare(Field a, Field b) {
+            int sizeA = sizeOf(a.getType());
+            int sizeB = sizeOf(b.getType());
+            return sizeA != sizeB ? (sizeA > sizeB ? -1 : 1) : a.getName().compareTo(b.getName());
+        }
+    }
+}
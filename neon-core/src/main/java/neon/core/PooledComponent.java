@@ -0,0 +1,8 @@
+package neon.core;
+
+public abstract class PooledComponent extends Component {
+
+    boolean pooled;
+
+    protected abstract void reset();
+}
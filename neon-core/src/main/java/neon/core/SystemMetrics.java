@@ -0,0 +1,55 @@
+package neon.core;
+
+import neon.util.Histogram;
+
+public final class SystemMetrics {
+
+    private final Class<? extends EntitySystem> systemClass;
+    private final Histogram updateTimes;
+    private final long entitiesProcessed;
+    private final long componentOperations;
+    private final long entityOperations;
+
+    SystemMetrics(EntitySystem system, MetricsRecorder.SystemRecorder recorder) {
+        systemClass = system.getClass();
+        updateTimes = recorder.updateTimes.copy();
+        entitiesProcessed = recorder.entitiesProcessed;
+        componentOperations = recorder.componentOperations;
+        entityOperations = recorder.entityOperations;
+    }
+
+    public Class<? extends EntitySystem> getSystemClass() {
+        return systemClass;
+    }
+
+    public Histogram getUpdateTimes() {
+        return updateTimes;
+    }
+
+    public long getUpdateCount() {
+        return updateTimes.getCount();
+    }
+
+    public long getEntitiesProcessed() {
+        return entitiesProcessed;
+    }
+
+    public long getComponentOperations() {
+        return componentOperations;
+    }
+
+    public long getEntityOperations() {
+        return entityOperations;
+    }
+
+    @Override
+    public String toString() {
+        return systemClass.getSimpleName() + "[updates=" + getUpdateCount()
+                + ", p50=" + updateTimes.getValueAtPercentile(50) + "ns"
+                + ", p99=" + updateTimes.getValueAtPercentile(99) + "ns"
+                + ", max=" + updateTimes.getMax() + "ns"
+                + ", entities=" + entitiesProcessed
+                + ", componentOperations=" + componentOperations
+                + ", entityOperations=" + entityOperations + "]";
+    }
+}
@@ -0,0 +1,134 @@
+package neon.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+final class SystemScheduler {
+
+    private final List<Stage> stages;
+
+    SystemScheduler(List<EntitySystem> systems, EngineTypes types) {
+        int count = systems.size();
+        SystemAccess[] access = new SystemAccess[count];
+        int[] levels = new int[count];
+        int levelCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            access[i] = new SystemAccess(systems.get(i).getClass().getAnnotation(Access.class), types);
+            for (int j = 0; j < i; j++) {
+                if (levels[j] >= levels[i] && access[i].conflicts(access[j])) {
+                    levels[i] = levels[j] + 1;
+                }
+            }
+            levelCount = Math.max(levelCount, levels[i] + 1);
+        }
+
+        List<List<EntitySystem>> grouped = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            grouped.add(new ArrayList<EntitySystem>());
+        }
+        for (int i = 0; i < count; i++) {
+            grouped.get(levels[i]).add(systems.get(i));
+        }
+
+        stages = new ArrayList<>(levelCount);
+        for (List<EntitySystem> stageSystems : grouped) {
+            stages.add(new Stage(stageSystems));
+        }
+    }
+
+    List<Stage> getStages() {
+        return stages;
+    }
+
+    static final class Stage extends RecursiveAction {
+
+        private final EntitySystem[] systems;
+        private final SystemTask[] tasks;
+
+        Stage(List<EntitySystem> systems) {
+            this.systems = systems.toArray(new EntitySystem[systems.size()]);
+            this.tasks = new SystemTask[this.systems.length];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new SystemTask(this.systems[i]);
+            }
+        }
+
+        int size() {
+            return systems.length;
+        }
+
+        EntitySystem getSystem(int index) {
+            return systems[index];
+        }
+
+        void prepare(float deltaTime) {
+            reinitialize();
+            for (SystemTask task : tasks) {
+                task.deltaTime = deltaTime;
+                task.reinitialize();
+            }
+        }
+
+        void submit(Engine engine) {
+            for (SystemTask task : tasks) {
+                task.commands.replay(engine);
+            }
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    private static final class SystemTask extends RecursiveAction {
+
+        private final EntitySystem system;
+        private final CommandBuffer commands;
+        private float deltaTime;
+
+        SystemTask(EntitySystem system) {
+            this.system = system;
+            this.commands = new CommandBuffer();
+        }
+
+        @Override
+        protected void compute() {
+            if (!system.isEnabled()) {
+                return;
+            }
+
+            Engine engine = system.getEngine();
+            CommandBuffer previous = engine.getCommandBuffer();
+            engine.setCommandBuffer(commands);
+            try {
+                system.performUpdate(deltaTime);
+            } finally {
+                engine.setCommandBuffer(previous);
+            }
+        }
+    }
+
+    private static final class SystemAccess {
+
+        private final boolean exclusive;
+        private final BitSet read;
+        private final BitSet write;
+
+        SystemAccess(Access access, EngineTypes types) {
+            exclusive = access == null;
+            read = access != null ? types.getBitsFor(access.read()) : new BitSet();
+            write = access != null ? types.getBitsFor(access.write()) : new BitSet();
+        }
+
+        boolean conflicts(SystemAccess other) {
+            return exclusive || other.exclusive
+                    || write.intersects(other.write)
+                    || write.intersects(other.read)
+                    || read.intersects(other.write);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package neon.core;
+
+public enum UpdatePhase {
+    START,
+    AFTER_SYSTEM,
+    END
+}
@@ -0,0 +1,106 @@
+package neon.core;
+
+import neon.event.EventListener;
+import neon.util.reflection.ClassReflection;
+import neon.util.reflection.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+class WireProcessor implements Processor {
+
+    private final ConcurrentMap<Class<?>, ClassMetadata<Object>> injectors = new ConcurrentHashMap<>();
+
+    @Override
+    public void processObject(Object object, Engine engine) {
+        Class<?> objectClass = object.getClass();
+        while (objectClass != null && objectClass != Object.class) {
+            getInjector(objectClass).inject(object, engine);
+            objectClass = objectClass.getSuperclass();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClassMetadata<Object> getInjector(Class<?> objectClass) {
+        ClassMetadata<Object> injector = injectors.get(objectClass);
+
+        if (injector == null) {
+            injector = (ClassMetadata<Object>) ClassMetadata.getFor(objectClass);
+            if (injector == null) {
+                injector = new ReflectiveInjector(objectClass);
+            }
+            ClassMetadata<Object> existing = injectors.putIfAbsent(objectClass, injector);
+            if (existing != null) {
+                injector = existing;
+            }
+        }
+
+        return injector;
+    }
+
+    private static final class ReflectiveInjector extends ClassMetadata<Object> {
+
+        private final List<Class<EventListener>> listenerClasses;
+        private final List<Field> fields;
+
+        ReflectiveInjector(Class<?> objectClass) {
+            listenerClasses = getListenerClasses(objectClass);
+            fields = getFields(objectClass);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Class<EventListener>> getListenerClasses(Class<?> objectClass) {
+            List<Class<EventListener>> listenerClasses = new ArrayList<>();
+            for (Class<?> i : objectClass.getInterfaces()) {
+                if (EventListener.class.isAssignableFrom(i)) {
+                    listenerClasses.add((Class<EventListener>) i);
+                }
+            }
+            return listenerClasses;
+        }
+
+        private static List<Field> getFields(Class<?> objectClass) {
+            Field[] fields = ClassReflection.getDeclaredFields(objectClass);
+            List<Field> matchingFields = new ArrayList<>();
+            for (Field field : fields) {
+                if (field.isAnnotationPresent(Wire.class) && !field.isFinal()) {
+                    field.setAccessible(true);
+                    matchingFields.add(field);
+                }
+            }
+            return matchingFields;
+        }
+
+        @Override
+        public void inject(Object object, Engine engine) {
+            for (Class<EventListener> listenerClass : listenerClasses) {
+                engine.event(listenerClass).add((EventListener) object);
+            }
+            for (Field field : fields) {
+                Object bindValue = getBindValue(field, engine);
+                if (bindValue != null) {
+                    field.set(object, bindValue);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object getBindValue(Field field, Engine engine) {
+            Class type = field.getType();
+            if (Engine.class.isAssignableFrom(type)) {
+                return engine;
+            } else if (EntitySystem.class.isAssignableFrom(type)) {
+                return getSystem(engine, type, field.getName());
+            } else if (ComponentMapper.class.isAssignableFrom(type)) {
+                Class<? extends Component> elementType = (Class<? extends Component>) field.getElementType(0);
+                return engine.getComponentMapper(elementType);
+            } else if (NodeFamily.class.isAssignableFrom(type)) {
+                Class<? extends Node> elementType = (Class<? extends Node>) field.getElementType(0);
+                return engine.getTypes().getNodeFamily(elementType);
+            }
+            return null;
+        }
+    }
+}
@@ -4,16 +4,15 @@ import neon.util.reflection.ClassReflection;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 
 public final class Event<T extends EventListener> {
 
-    private Dispatcher<T> dispatcher;
+    private final EventDispatcher<T> dispatcher;
 
     public Event(Class<T> listenerType) {
         validateType(listenerType);
-        this.dispatcher = new Dispatcher<>(listenerType);
+        EventDispatcher<T> generated = EventDispatcher.getGenerated(listenerType);
+        this.dispatcher = generated != null ? generated : new ProxyDispatcher<>(listenerType);
     }
 
     private static void validateType(Class<? extends EventListener> listenerType) {
@@ -25,38 +24,43 @@ public final class Event<T extends EventListener> {
     }
 
     public void add(T listener) {
-        dispatcher.listeners.add(listener);
+        dispatcher.add(listener);
     }
 
     public void remove(T listener) {
-        dispatcher.listeners.remove(listener);
+        dispatcher.remove(listener);
     }
 
     public void removeAll() {
-        dispatcher.listeners.clear();
+        dispatcher.removeAll();
     }
 
     public boolean hasListeners() {
-        return dispatcher.listeners.size() > 0;
+        return dispatcher.size() > 0;
     }
 
     public T dispatch() {
-        return dispatcher.proxy;
+        return dispatcher.getProxy();
     }
 
-    private static class Dispatcher<T extends EventListener> implements InvocationHandler {
+    private static final class ProxyDispatcher<T extends EventListener> extends EventDispatcher<T> implements InvocationHandler {
 
-        final T proxy;
-        final List<T> listeners = new ArrayList<>();
+        private final T proxy;
 
-        Dispatcher(Class<T> type) {
+        ProxyDispatcher(Class<T> type) {
             proxy = ClassReflection.newProxyInstance(type, this);
         }
 
+        @Override
+        T getProxy() {
+            return proxy;
+        }
+
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            for (T l : new ArrayList<>(listeners)) {
-                method.invoke(l, args);
+            Object[] listeners = getListeners();
+            for (int i = 0; i < listeners.length; i++) {
+                method.invoke(listeners[i], args);
             }
             return null;
         }
@@ -0,0 +1,67 @@
+package neon.event;
+
+import neon.util.reflection.ClassReflection;
+
+public abstract class EventDispatcher<T extends EventListener> {
+
+    public static final String SUFFIX = "$$Dispatcher";
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] listeners = EMPTY;
+
+    protected final Object[] getListeners() {
+        return listeners;
+    }
+
+    @SuppressWarnings("unchecked")
+    T getProxy() {
+        return (T) this;
+    }
+
+    void add(T listener) {
+        Object[] newListeners = new Object[listeners.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    void remove(T listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listener.equals(listeners[i])) {
+                if (listeners.length == 1) {
+                    listeners = EMPTY;
+                    return;
+                }
+                Object[] newListeners = new Object[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    void removeAll() {
+        listeners = EMPTY;
+    }
+
+    int size() {
+        return listeners.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends EventListener> EventDispatcher<T> getGenerated(Class<T> listenerType) {
+        ClassLoader classLoader = listenerType.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+
+        try {
+            Class<?> dispatcherClass = Class.forName(listenerType.getName() + SUFFIX, true, classLoader);
+            return (EventDispatcher<T>) ClassReflection.newInstance(dispatcherClass);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
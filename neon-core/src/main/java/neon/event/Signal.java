@@ -0,0 +1,233 @@
+package neon.event;
+
+public final class Signal<T> {
+
+    private static final SignalListener[] EMPTY = new SignalListener[0];
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private SignalListener[] listeners;
+
+    private final boolean queued;
+    private final SignalKey<? super T> signalKey;
+    private volatile SignalRouter router;
+
+    private Object[] queue;
+    private int head;
+    private int size;
+    private int flushing;
+
+    private Object[] keys;
+    private int[] keySlots;
+    private int keyCount;
+
+    public Signal() {
+        this(false);
+    }
+
+    public Signal(boolean queued) {
+        this(queued, null);
+    }
+
+    public Signal(SignalKey<? super T> signalKey) {
+        this(true, signalKey);
+    }
+
+    private Signal(boolean queued, SignalKey<? super T> signalKey) {
+        listeners = EMPTY;
+        this.queued = queued;
+        this.signalKey = signalKey;
+        if (queued) {
+            queue = new Object[INITIAL_CAPACITY];
+        }
+        if (signalKey != null) {
+            keys = new Object[INITIAL_CAPACITY * 2];
+            keySlots = new int[INITIAL_CAPACITY * 2];
+        }
+    }
+
+    public boolean isQueued() {
+        return queued;
+    }
+
+    public boolean isCoalescing() {
+        return signalKey != null;
+    }
+
+    public SignalRouter getRouter() {
+        return router;
+    }
+
+    public void setRouter(SignalRouter router) {
+        this.router = router;
+    }
+
+    public int getPendingCount() {
+        return size - flushing;
+    }
+
+    public void add(SignalListener<T> listener) {
+        SignalListener[] newListeners = new SignalListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    public void remove(SignalListener<T> listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listener.equals(listeners[i])) {
+                SignalListener[] newListeners = new SignalListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    public void removeAll() {
+        listeners = EMPTY;
+    }
+
+    public boolean hasListeners() {
+        return listeners.length > 0;
+    }
+
+    public void dispatch(T object) {
+        // The queue is owned by the thread that flushes it; other threads must be routed to it.
+        if (queued) {
+            SignalRouter router = this.router;
+            if (router != null && router.route(this, object)) {
+                return;
+            }
+            enqueue(object);
+        } else {
+            deliver(object);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(T object) {
+        SignalListener[] listeners = this.listeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].receive(this, object);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void flush() {
+        int count = size;
+        if (count == 0 || flushing > 0) {
+            return;
+        }
+        clearKeys();
+        flushing = count;
+
+        Object[] queue = this.queue;
+        int mask = queue.length - 1;
+        int start = head;
+
+        try {
+            SignalListener[] listeners = this.listeners;
+            for (int i = 0; i < listeners.length; i++) {
+                SignalListener listener = listeners[i];
+                for (int j = 0; j < count; j++) {
+                    listener.receive(this, queue[(start + j) & mask]);
+                }
+            }
+        } finally {
+            queue = this.queue;
+            mask = queue.length - 1;
+            for (int j = 0; j < count; j++) {
+                queue[(head + j) & mask] = null;
+            }
+            head = (head + count) & mask;
+            size -= count;
+            flushing = 0;
+        }
+    }
+
+    public void clear() {
+        if (queue == null) {
+            return;
+        }
+        int mask = queue.length - 1;
+        for (int i = flushing; i < size; i++) {
+            queue[(head + i) & mask] = null;
+        }
+        size = flushing;
+        clearKeys();
+    }
+
+    private void enqueue(T object) {
+        if (signalKey != null) {
+            Object key = signalKey.getKey(object);
+            int keyIndex = findKey(key);
+            if (keys[keyIndex] != null) {
+                queue[keySlots[keyIndex]] = object;
+                return;
+            }
+            if (size == queue.length) {
+                grow();
+                keyIndex = findKey(key);
+            }
+            keys[keyIndex] = key;
+            keySlots[keyIndex] = (head + size) & (queue.length - 1);
+            keyCount++;
+        } else if (size == queue.length) {
+            grow();
+        }
+
+        queue[(head + size) & (queue.length - 1)] = object;
+        size++;
+    }
+
+    private int findKey(Object key) {
+        int mask = keys.length - 1;
+        int index = mix(key.hashCode()) & mask;
+        while (keys[index] != null && !keys[index].equals(key)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void clearKeys() {
+        if (keyCount > 0) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = null;
+            }
+            keyCount = 0;
+        }
+    }
+
+    private void grow() {
+        Object[] oldQueue = queue;
+        int oldMask = oldQueue.length - 1;
+        Object[] newQueue = new Object[oldQueue.length * 2];
+        for (int i = 0; i < size; i++) {
+            newQueue[i] = oldQueue[(head + i) & oldMask];
+        }
+        queue = newQueue;
+
+        if (signalKey != null) {
+            int oldHead = head;
+            Object[] oldKeys = keys;
+            int[] oldKeySlots = keySlots;
+            keys = new Object[newQueue.length * 2];
+            keySlots = new int[newQueue.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int keyIndex = findKey(oldKeys[i]);
+                    keys[keyIndex] = oldKeys[i];
+                    keySlots[keyIndex] = (oldKeySlots[i] - oldHead) & oldMask;
+                }
+            }
+        }
+        head = 0;
+    }
+}
@@ -0,0 +1,6 @@
+package neon.event;
+
+public interface SignalKey<T> {
+
+    Object getKey(T object);
+}
@@ -0,0 +1,6 @@
+package neon.event;
+
+public interface SignalRouter {
+
+    <T> boolean route(Signal<T> signal, T object);
+}
@@ -2,6 +2,7 @@ package neon.fsm;
 
 import neon.core.Component;
 import neon.core.ComponentType;
+import neon.core.Engine;
 import neon.util.reflection.ClassReflection;
 
 public class ComponentTypeProvider<T extends Component> implements ComponentProvider<T> {
@@ -17,6 +18,10 @@ public class ComponentTypeProvider<T extends Component> implements ComponentProv
         return ClassReflection.newInstance(componentClass);
     }
 
+    T getComponent(Engine engine) {
+        return engine.createComponent(componentClass);
+    }
+
     @Override
     public ComponentType getComponentType() {
         return ComponentType.getFor(componentClass);
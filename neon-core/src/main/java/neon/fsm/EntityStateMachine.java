@@ -1,6 +1,7 @@
 package neon.fsm;
 
 import neon.core.Component;
+import neon.core.Engine;
 import neon.core.Entity;
 
 import java.util.HashMap;
@@ -51,8 +52,13 @@ public class EntityStateMachine {
             }
         }
 
+        Engine engine = entity.getEngine();
         for (ComponentProvider<? extends Component> componentProvider : toAdd.values()) {
-            entity.addComponent(componentProvider.getComponent());
+            if (engine != null && componentProvider instanceof ComponentTypeProvider) {
+                entity.addComponent(((ComponentTypeProvider<? extends Component>) componentProvider).getComponent(engine));
+            } else {
+                entity.addComponent(componentProvider.getComponent());
+            }
         }
 
         currentState = newState;
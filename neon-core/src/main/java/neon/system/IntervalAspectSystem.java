@@ -29,6 +29,7 @@ public abstract class IntervalAspectSystem extends IntervalSystem {
         for (int i = 0; i < size; i++) {
             processEntity(entities.get(i));
         }
+        recordProcessed(size);
     }
 
     protected abstract void processEntity(Entity entity);
@@ -33,6 +33,7 @@ public abstract class IntervalNodeSystem<T extends Node> extends NodeSystem<T> {
         for (int i = 0; i < size; ++i) {
             processNode(nodes.get(i));
         }
+        recordProcessed(size);
     }
 
     protected abstract void processNode(T node);
@@ -1,5 +1,6 @@
 package neon.system;
 
+import neon.core.Archetype;
 import neon.core.Aspect;
 import neon.core.Entity;
 import neon.core.EntitySystem;
@@ -9,6 +10,7 @@ public abstract class IteratingAspectSystem extends EntitySystem {
 
     private final Aspect aspect;
     private ImmutableList<Entity> entities;
+    private ImmutableList<Archetype> archetypes;
 
     public IteratingAspectSystem(Aspect aspect) {
         this(aspect, 0);
@@ -22,13 +24,23 @@ public abstract class IteratingAspectSystem extends EntitySystem {
     @Override
     public void addedToEngine() {
         entities = getEngine().getEntitiesFor(aspect);
+        archetypes = getEngine().getArchetypesFor(aspect);
     }
 
     @Override
     public void update(float deltaTime) {
-        int size = entities.size();
-        for (int i = 0; i < size; ++i) {
-            processEntity(entities.get(i), deltaTime);
+        int archetypeCount = archetypes.size();
+        for (int i = 0; i < archetypeCount; ++i) {
+            ImmutableList<Archetype.Chunk> chunks = archetypes.get(i).getChunks();
+            int chunkCount = chunks.size();
+            for (int j = 0; j < chunkCount; ++j) {
+                Archetype.Chunk chunk = chunks.get(j);
+                int size = chunk.size();
+                for (int k = 0; k < size; ++k) {
+                    processEntity(chunk.getEntity(k), deltaTime);
+                }
+                recordProcessed(size);
+            }
         }
     }
 
@@ -36,5 +48,9 @@ public abstract class IteratingAspectSystem extends EntitySystem {
         return entities;
     }
 
+    public ImmutableList<Archetype> getArchetypes() {
+        return archetypes;
+    }
+
     protected abstract void processEntity(Entity entity, float deltaTime);
 }
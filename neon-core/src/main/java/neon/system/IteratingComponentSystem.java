@@ -0,0 +1,47 @@
+package neon.system;
+
+import neon.core.Component;
+import neon.core.ComponentStore;
+import neon.core.Entity;
+import neon.core.EntitySystem;
+import neon.util.reflection.ClassReflection;
+
+public abstract class IteratingComponentSystem<T extends Component> extends EntitySystem {
+
+    private final Class<T> componentClass;
+    private ComponentStore<T> components;
+
+    public IteratingComponentSystem() {
+        this(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public IteratingComponentSystem(int priority) {
+        super(priority);
+        componentClass = (Class<T>) ClassReflection.getElementClass(getClass(), 0);
+    }
+
+    public final Class<T> getComponentClass() {
+        return componentClass;
+    }
+
+    @Override
+    public void addedToEngine() {
+        components = getEngine().getComponentStore(componentClass);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        int size = components.size();
+        for (int i = 0; i < size; ++i) {
+            processComponent(components.getEntity(i), components.getComponent(i), deltaTime);
+        }
+        recordProcessed(size);
+    }
+
+    public final ComponentStore<T> getComponents() {
+        return components;
+    }
+
+    protected abstract void processComponent(Entity entity, T component, float deltaTime);
+}
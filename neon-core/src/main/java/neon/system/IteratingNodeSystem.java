@@ -20,6 +20,7 @@ public abstract class IteratingNodeSystem<T extends Node> extends NodeSystem<T>
         for (int i = 0; i < size; ++i) {
             processNode(nodes.get(i), deltaTime);
         }
+        recordProcessed(size);
     }
 
     protected abstract void processNode(T node, float deltaTime);
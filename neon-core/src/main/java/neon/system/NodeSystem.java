@@ -1,5 +1,6 @@
 package neon.system;
 
+import neon.core.ClassMetadata;
 import neon.core.EntitySystem;
 import neon.core.Node;
 import neon.util.ImmutableList;
@@ -17,7 +18,15 @@ abstract class NodeSystem<T extends Node> extends EntitySystem {
     @SuppressWarnings("unchecked")
     public NodeSystem(int priority) {
         super(priority);
-        nodeClass = (Class<T>) ClassReflection.getElementClass(getClass(), 0);
+        nodeClass = (Class<T>) getNodeClassFor(getClass());
+    }
+
+    private static Class<?> getNodeClassFor(Class<?> systemClass) {
+        ClassMetadata<?> metadata = ClassMetadata.getFor(systemClass);
+        if (metadata != null && metadata.getNodeClass() != null) {
+            return metadata.getNodeClass();
+        }
+        return ClassReflection.getElementClass(systemClass, 0);
     }
 
     public final Class<T> getNodeClass() {
@@ -0,0 +1,56 @@
+package neon.system;
+
+import neon.core.Aspect;
+import neon.core.Entity;
+import neon.core.EntitySystem;
+import neon.util.ImmutableList;
+
+public abstract class ParallelIteratingAspectSystem extends EntitySystem {
+
+    public static final int DEFAULT_GRAIN_SIZE = 256;
+
+    private final Aspect aspect;
+    private final ParallelIteration iteration;
+    private ImmutableList<Entity> entities;
+
+    public ParallelIteratingAspectSystem(Aspect aspect) {
+        this(aspect, 0);
+    }
+
+    public ParallelIteratingAspectSystem(Aspect aspect, int priority) {
+        this(aspect, priority, DEFAULT_GRAIN_SIZE);
+    }
+
+    public ParallelIteratingAspectSystem(Aspect aspect, int priority, int grainSize) {
+        super(priority);
+        this.aspect = aspect;
+        this.iteration = new ParallelIteration(grainSize) {
+            @Override
+            void process(int index, float deltaTime) {
+                processEntity(entities.get(index), deltaTime);
+            }
+        };
+    }
+
+    @Override
+    public void addedToEngine() {
+        entities = getEngine().getEntitiesFor(aspect);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        int size = entities.size();
+        iteration.run(getEngine(), size, deltaTime);
+        recordProcessed(size);
+    }
+
+    public ImmutableList<Entity> getEntities() {
+        return entities;
+    }
+
+    public int getGrainSize() {
+        return iteration.getGrainSize();
+    }
+
+    protected abstract void processEntity(Entity entity, float deltaTime);
+}
@@ -0,0 +1,41 @@
+package neon.system;
+
+import neon.core.Node;
+
+public abstract class ParallelIteratingNodeSystem<T extends Node> extends NodeSystem<T> {
+
+    public static final int DEFAULT_GRAIN_SIZE = 256;
+
+    private final ParallelIteration iteration;
+
+    public ParallelIteratingNodeSystem() {
+        this(0);
+    }
+
+    public ParallelIteratingNodeSystem(int priority) {
+        this(priority, DEFAULT_GRAIN_SIZE);
+    }
+
+    public ParallelIteratingNodeSystem(int priority, int grainSize) {
+        super(priority);
+        this.iteration = new ParallelIteration(grainSize) {
+            @Override
+            void process(int index, float deltaTime) {
+                processNode(getNodes().get(index), deltaTime);
+            }
+        };
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        int size = getNodes().size();
+        iteration.run(getEngine(), size, deltaTime);
+        recordProcessed(size);
+    }
+
+    public int getGrainSize() {
+        return iteration.getGrainSize();
+    }
+
+    protected abstract void processNode(T node, float deltaTime);
+}
@@ -0,0 +1,114 @@
+package neon.system;
+
+import neon.core.CommandBuffer;
+import neon.core.Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+abstract class ParallelIteration {
+
+    private final int grainSize;
+    private final List<ChunkTask> tasks;
+    private final RootTask root;
+
+    private Engine engine;
+    private float deltaTime;
+
+    ParallelIteration(int grainSize) {
+        if (grainSize < 1) {
+            throw new IllegalArgumentException("Grain size must be positive: " + grainSize);
+        }
+        this.grainSize = grainSize;
+        this.tasks = new ArrayList<>();
+        this.root = new RootTask();
+    }
+
+    final int getGrainSize() {
+        return grainSize;
+    }
+
+    final void run(Engine engine, int size, float deltaTime) {
+        if (size == 0) {
+            return;
+        }
+
+        int chunkCount = (size + grainSize - 1) / grainSize;
+        ForkJoinPool pool = engine.getForkJoinPool();
+        boolean forked = ForkJoinTask.inForkJoinPool();
+
+        if (chunkCount == 1 || (pool == null && !forked)) {
+            for (int i = 0; i < size; i++) {
+                process(i, deltaTime);
+            }
+            return;
+        }
+
+        this.engine = engine;
+        this.deltaTime = deltaTime;
+        while (tasks.size() < chunkCount) {
+            tasks.add(new ChunkTask());
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            ChunkTask task = tasks.get(i);
+            task.from = i * grainSize;
+            task.to = Math.min(size, task.from + grainSize);
+            task.commands.clear();
+            task.reinitialize();
+        }
+
+        root.chunkCount = chunkCount;
+        root.reinitialize();
+        if (forked) {
+            root.invoke();
+        } else {
+            pool.invoke(root);
+        }
+
+        for (int i = 0; i < chunkCount; i++) {
+            engine.submit(tasks.get(i).commands);
+        }
+        this.engine = null;
+    }
+
+    abstract void process(int index, float deltaTime);
+
+    private final class RootTask extends RecursiveAction {
+
+        private int chunkCount;
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < chunkCount; i++) {
+                tasks.get(i).fork();
+            }
+            tasks.get(0).invoke();
+            for (int i = chunkCount - 1; i > 0; i--) {
+                tasks.get(i).join();
+            }
+        }
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+
+        private final CommandBuffer commands = new CommandBuffer();
+        private int from;
+        private int to;
+
+        @Override
+        protected void compute() {
+            CommandBuffer previous = engine.getCommandBuffer();
+            engine.setCommandBuffer(commands);
+            try {
+                for (int i = from; i < to; i++) {
+                    process(i, deltaTime);
+                }
+            } finally {
+                engine.setCommandBuffer(previous);
+            }
+        }
+    }
+}
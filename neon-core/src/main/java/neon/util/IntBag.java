@@ -0,0 +1,83 @@
+package neon.util;
+
+public class IntBag {
+
+    private int[] data;
+    private int size = 0;
+
+    public IntBag() {
+        this(16);
+    }
+
+    public IntBag(int capacity) {
+        data = new int[capacity];
+    }
+
+    public int remove(int index) {
+        int e = data[index];
+        data[index] = data[--size];
+        return e;
+    }
+
+    public int removeLast() {
+        return data[--size];
+    }
+
+    public boolean contains(int e) {
+        for (int i = 0; size > i; i++) {
+            if (e == data[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int get(int index) {
+        return data[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int e) {
+        if (size == data.length) {
+            grow();
+        }
+
+        data[size++] = e;
+    }
+
+    public void set(int index, int e) {
+        if (index >= data.length) {
+            grow(Math.max((data.length * 3) / 2 + 1, index + 1));
+        }
+        if (index >= size) {
+            size = index + 1;
+        }
+        data[index] = e;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        int newCapacity = (data.length * 3) / 2 + 1;
+        grow(newCapacity);
+    }
+
+    private void grow(int newCapacity) {
+        int[] oldData = data;
+        data = new int[newCapacity];
+        System.arraycopy(oldData, 0, data, 0, oldData.length);
+    }
+}
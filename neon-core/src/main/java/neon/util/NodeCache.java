@@ -25,4 +25,8 @@ public final class NodeCache {
     public <T extends Node> void remove(Class<T> nodeClass) {
         nodeCache.remove(nodeClass);
     }
+
+    public void clear() {
+        nodeCache.clear();
+    }
 }
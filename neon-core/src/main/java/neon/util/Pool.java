@@ -1,6 +1,6 @@
 package neon.util;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 
 public abstract class Pool<T> {
@@ -14,7 +14,7 @@ public abstract class Pool<T> {
     }
 
     public Pool(int max) {
-        freeObjects = new LinkedList<>();
+        freeObjects = new ArrayDeque<>();
         this.max = max;
     }
 
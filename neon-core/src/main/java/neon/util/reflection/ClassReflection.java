@@ -3,7 +3,9 @@ package neon.util.reflection;
 import neon.core.Component;
 import neon.core.Node;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
@@ -22,6 +24,14 @@ public final class ClassReflection {
         }
     }
 
+    public static <T> T newInstance(Constructor<T> constructor, Object... args) throws ReflectionException {
+        try {
+            return constructor.newInstance(args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new ReflectionException("Could not instantiate instance of class: " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
     public static <T> T newInstance(Class<T> c) throws ReflectionException {
         try {
             return c.newInstance();
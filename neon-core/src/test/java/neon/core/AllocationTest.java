@@ -0,0 +1,268 @@
+package neon.core;
+
+import neon.event.Signal;
+import neon.event.SignalListener;
+import neon.system.IntervalAspectSystem;
+import neon.system.IteratingAspectSystem;
+import neon.system.IteratingComponentSystem;
+import neon.system.IteratingNodeSystem;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class AllocationTest extends Assert {
+
+    private static final int ENTITY_COUNT = 1000;
+    private static final int WARMUP_UPDATES = 10000;
+    private static final int MEASURED_UPDATES = 5000;
+    private static final int TOGGLED_ENTITIES = 100;
+    private static final long BYTES_PER_TOGGLE = 8;
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Component>[] MOVING = new Class[]{Position.class, Velocity.class};
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Component>[] MARKED = new Class[]{Marker.class};
+
+    @Test
+    public void testSteadyStateUpdateDoesNotAllocate() throws Exception {
+        AllocationCounter counter = AllocationCounter.create();
+        Engine engine = createEngine();
+        Entity[] entities = addEntities(engine);
+        assertEquals(engine.getEntities().size(), entities.length);
+
+        for (int i = 0; i < WARMUP_UPDATES; i++) {
+            engine.update(0.016f);
+        }
+
+        long allocated = counter.measure(engine, MEASURED_UPDATES);
+        assertEquals(allocated / MEASURED_UPDATES, 0, "Allocated " + allocated + " bytes in " + MEASURED_UPDATES + " updates");
+    }
+
+    @Test
+    public void testStructuralChangeAllocationIsBounded() throws Exception {
+        AllocationCounter counter = AllocationCounter.create();
+        Engine engine = createEngine();
+        Entity[] entities = addEntities(engine);
+
+        Marker[] markers = new Marker[TOGGLED_ENTITIES];
+        for (int i = 0; i < markers.length; i++) {
+            markers[i] = new Marker();
+        }
+        engine.addSystem(new TogglingSystem(entities, markers));
+
+        for (int i = 0; i < WARMUP_UPDATES; i++) {
+            engine.update(0.016f);
+        }
+
+        long allocated = counter.measure(engine, MEASURED_UPDATES);
+        long toggles = (long) MEASURED_UPDATES * TOGGLED_ENTITIES;
+        assertTrue(allocated <= toggles * BYTES_PER_TOGGLE,
+                "Allocated " + allocated + " bytes for " + toggles + " component toggles");
+    }
+
+    @Test
+    public void testAspectLookupDoesNotAllocate() throws Exception {
+        AllocationCounter counter = AllocationCounter.create();
+        Aspect.Builder builder = new Aspect.Builder();
+        Aspect aspect = lookup(builder);
+        for (int i = 0; i < WARMUP_UPDATES; i++) {
+            lookup(builder);
+        }
+
+        long start = counter.allocated();
+        for (int i = 0; i < MEASURED_UPDATES; i++) {
+            if (lookup(builder) != aspect) {
+                fail();
+            }
+        }
+        long allocated = counter.allocated() - start;
+        assertEquals(allocated / MEASURED_UPDATES, 0, "Allocated " + allocated + " bytes in " + MEASURED_UPDATES + " lookups");
+    }
+
+    private static Aspect lookup(Aspect.Builder builder) {
+        return builder.reset().allOf(MOVING).excludeOf(MARKED).get();
+    }
+
+    private static Engine createEngine() {
+        Engine engine = new Engine();
+        EngineTypes types = engine.getTypes();
+        engine.addSystem(new MovementSystem(new Aspect.Builder(types).allOf(Position.class, Velocity.class).get()));
+        engine.addSystem(new MovementNodeSystem());
+        engine.addSystem(new VelocitySystem());
+        engine.addSystem(new IntervalPositionSystem(new Aspect.Builder(types).allOf(Position.class).get()));
+
+        EntityListener entityListener = new EntityListener() {
+            @Override
+            public void entityAdded(Entity entity) {
+            }
+
+            @Override
+            public void entityRemoved(Entity entity) {
+            }
+        };
+        engine.addEntityListener(entityListener);
+        engine.addEntityListener(new Aspect.Builder(types).allOf(Marker.class).get(), entityListener);
+        engine.addNodeListener(MarkedNode.class, new NodeListener() {
+            @Override
+            public void nodeAdded(Node node) {
+            }
+
+            @Override
+            public void nodeRemoved(Node node) {
+            }
+        });
+
+        Signal<Object> signal = new Signal<>(true);
+        signal.add(new SignalListener<Object>() {
+            @Override
+            public void receive(Signal<Object> signal, Object object) {
+            }
+        });
+        engine.addSignal(signal, UpdatePhase.AFTER_SYSTEM);
+        return engine;
+    }
+
+    private static Entity[] addEntities(Engine engine) {
+        Entity[] entities = new Entity[ENTITY_COUNT];
+        for (int i = 0; i < entities.length; i++) {
+            Entity entity = engine.createEntity();
+            entity.addComponent(new Position());
+            entity.addComponent(new Velocity());
+            engine.addEntity(entity);
+            entities[i] = entity;
+        }
+        return entities;
+    }
+
+    private static final class AllocationCounter {
+
+        private final com.sun.management.ThreadMXBean threads;
+        private final long threadId;
+
+        private AllocationCounter(com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+            this.threadId = Thread.currentThread().getId();
+        }
+
+        static AllocationCounter create() {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+                throw new SkipException("Thread allocation counters are not available");
+            }
+
+            com.sun.management.ThreadMXBean allocationThreads = (com.sun.management.ThreadMXBean) threads;
+            if (!allocationThreads.isThreadAllocatedMemorySupported()) {
+                throw new SkipException("Thread allocation counters are not supported");
+            }
+            allocationThreads.setThreadAllocatedMemoryEnabled(true);
+            return new AllocationCounter(allocationThreads);
+        }
+
+        long allocated() {
+            return threads.getThreadAllocatedBytes(threadId);
+        }
+
+        long measure(Engine engine, int updates) {
+            long overhead = -allocated();
+            overhead += allocated();
+
+            long start = allocated();
+            for (int i = 0; i < updates; i++) {
+                engine.update(0.016f);
+            }
+            return allocated() - start - overhead;
+        }
+    }
+
+    private static final class MovementSystem extends IteratingAspectSystem {
+
+        MovementSystem(Aspect aspect) {
+            super(aspect);
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            Position position = entity.getComponent(Position.class);
+            Velocity velocity = entity.getComponent(Velocity.class);
+            position.x += velocity.x * deltaTime;
+            position.y += velocity.y * deltaTime;
+        }
+    }
+
+    private static final class MovementNodeSystem extends IteratingNodeSystem<MovementNode> {
+
+        @Override
+        protected void processNode(MovementNode node, float deltaTime) {
+            node.getPosition().x -= node.getVelocity().x * deltaTime;
+        }
+    }
+
+    private static final class VelocitySystem extends IteratingComponentSystem<Velocity> {
+
+        @Override
+        protected void processComponent(Entity entity, Velocity component, float deltaTime) {
+            component.x = 1;
+            component.y = 1;
+        }
+    }
+
+    private static final class IntervalPositionSystem extends IntervalAspectSystem {
+
+        IntervalPositionSystem(Aspect aspect) {
+            super(aspect, 0.1f);
+        }
+
+        @Override
+        protected void processEntity(Entity entity) {
+            entity.getComponent(Position.class).y = 0;
+        }
+    }
+
+    private static final class TogglingSystem extends EntitySystem {
+
+        private final Entity[] entities;
+        private final Marker[] markers;
+
+        TogglingSystem(Entity[] entities, Marker[] markers) {
+            this.entities = entities;
+            this.markers = markers;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            for (int i = 0; i < markers.length; i++) {
+                Entity entity = entities[i];
+                if (entity.getComponent(Marker.class) == null) {
+                    entity.addComponent(markers[i]);
+                } else {
+                    entity.removeComponent(Marker.class);
+                }
+            }
+        }
+    }
+
+    public static class Position extends Component {
+        public float x;
+        public float y;
+    }
+
+    public static class Velocity extends Component {
+        public float x;
+        public float y;
+    }
+
+    public static class Marker extends Component {
+    }
+
+    public interface MovementNode extends Node {
+        Position getPosition();
+
+        Velocity getVelocity();
+    }
+
+    public interface MarkedNode extends Node {
+        Marker getMarker();
+    }
+}
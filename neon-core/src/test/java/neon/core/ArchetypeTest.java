@@ -0,0 +1,161 @@
+package neon.core;
+
+import neon.system.IteratingAspectSystem;
+import neon.util.ImmutableList;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ArchetypeTest extends Assert {
+
+    private Engine engine;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        engine = new Engine();
+    }
+
+    @Test
+    public void testEntitiesShareArchetype() throws Exception {
+        Entity a = new Entity().addComponent(new A()).addComponent(new B());
+        Entity b = new Entity().addComponent(new B()).addComponent(new A());
+        Entity c = new Entity().addComponent(new A());
+        engine.addEntity(a);
+        engine.addEntity(b);
+        engine.addEntity(c);
+
+        assertSame(a.getArchetype(), b.getArchetype());
+        assertNotSame(a.getArchetype(), c.getArchetype());
+        assertEquals(a.getArchetype().size(), 2);
+
+        a.removeComponent(B.class);
+        assertSame(a.getArchetype(), c.getArchetype());
+        assertEquals(b.getArchetype().size(), 1);
+        assertEquals(c.getArchetype().size(), 2);
+    }
+
+    @Test
+    public void testChunkColumns() throws Exception {
+        Archetype archetype = null;
+        int count = Archetype.CHUNK_SIZE * 2 + 1;
+        Entity[] entities = new Entity[count];
+        for (int i = 0; i < count; i++) {
+            entities[i] = new Entity().addComponent(new A()).addComponent(new B());
+            engine.addEntity(entities[i]);
+            archetype = entities[i].getArchetype();
+        }
+        assertEquals(archetype.getChunks().size(), 3);
+
+        engine.removeEntity(entities[0]);
+        assertNull(entities[0].getArchetype());
+        assertEquals(archetype.size(), count - 1);
+        assertEquals(archetype.getChunks().size(), 2);
+
+        int column = archetype.getColumnIndex(B.class);
+        for (Archetype.Chunk chunk : archetype.getChunks()) {
+            for (int i = 0; i < chunk.size(); i++) {
+                Entity entity = chunk.getEntity(i);
+                assertSame(chunk.getComponent(column, i), entity.getComponent(B.class));
+            }
+        }
+        assertEquals(archetype.getColumnIndex(C.class), -1);
+    }
+
+    @Test
+    public void testArchetypesForAspect() throws Exception {
+        Aspect aspect = Aspect.allOf(A.class).excludeOf(C.class).get();
+        ImmutableList<Archetype> archetypes = engine.getArchetypesFor(aspect);
+
+        engine.addEntity(new Entity().addComponent(new A()));
+        engine.addEntity(new Entity().addComponent(new A()).addComponent(new B()));
+        engine.addEntity(new Entity().addComponent(new A()).addComponent(new C()));
+        engine.addEntity(new Entity().addComponent(new B()));
+
+        assertEquals(archetypes.size(), 2);
+        assertEquals(engine.getEntitiesFor(aspect).size(), 2);
+    }
+
+    @Test
+    public void testMembershipIndex() throws Exception {
+        ImmutableList<Entity> excluding = engine.getEntitiesFor(Aspect.excludeOf(C.class).get());
+        ImmutableList<Entity> oneOf = engine.getEntitiesFor(Aspect.oneOf(B.class, C.class).get());
+
+        Entity entity = new Entity();
+        engine.addEntity(entity);
+        assertTrue(excluding.isEmpty());
+
+        entity.addComponent(new A());
+        assertEquals(excluding.size(), 1);
+        assertTrue(oneOf.isEmpty());
+
+        entity.addComponent(new C());
+        assertTrue(excluding.isEmpty());
+        assertEquals(oneOf.size(), 1);
+
+        entity.removeComponent(A.class);
+        assertEquals(oneOf.size(), 1);
+
+        entity.removeComponent(C.class);
+        assertTrue(excluding.isEmpty());
+        assertTrue(oneOf.isEmpty());
+    }
+
+    @Test
+    public void testIteratingAspectSystem() throws Exception {
+        CountingSystem system = new CountingSystem();
+        engine.addSystem(system);
+
+        for (int i = 0; i < Archetype.CHUNK_SIZE + 10; i++) {
+            engine.addEntity(new Entity().addComponent(new A()));
+            engine.addEntity(new Entity().addComponent(new A()).addComponent(new B()));
+            engine.addEntity(new Entity().addComponent(new B()));
+        }
+
+        engine.update(0);
+        assertEquals(system.processed, (Archetype.CHUNK_SIZE + 10) * 2);
+    }
+
+    @Test
+    public void testReplaceDuringUpdate() throws Exception {
+        final Entity entity = new Entity().addComponent(new A()).addComponent(new B());
+        engine.addEntity(entity);
+        Archetype archetype = entity.getArchetype();
+
+        final B replacement = new B();
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                entity.addComponent(replacement);
+            }
+        });
+        engine.update(0);
+
+        assertSame(entity.getArchetype(), archetype);
+        assertSame(entity.getComponent(B.class), replacement);
+        Archetype.Chunk chunk = archetype.getChunks().get(0);
+        assertSame(chunk.getComponent(archetype.getColumnIndex(B.class), entity.archetypeIndex), replacement);
+    }
+
+    private static class CountingSystem extends IteratingAspectSystem {
+
+        int processed;
+
+        CountingSystem() {
+            super(Aspect.allOf(A.class).get());
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            processed++;
+        }
+    }
+
+    private static class A extends Component {
+    }
+
+    private static class B extends Component {
+    }
+
+    private static class C extends Component {
+    }
+}
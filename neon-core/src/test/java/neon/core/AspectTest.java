@@ -0,0 +1,141 @@
+package neon.core;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class AspectTest extends Assert {
+
+    @DataProvider(name = "aspects")
+    public static Object[][] aspects() {
+        return new Object[][]{
+                {getAspectForAll(A.class, B.class, C.class)},
+                {getAspectForAllNodes(ANode.class, BNode.class, CNode.class)}
+        };
+    }
+
+    @Test(dataProvider = "aspects")
+    public void testAspect(Aspect aspect) throws Exception {
+        Entity entity = new Entity();
+        entity.addComponent(new A()).addComponent(new B()).addComponent(new C());
+        assertTrue(aspect.matches(entity));
+        entity.removeComponent(A.class);
+        assertFalse(aspect.matches(entity));
+    }
+
+    @Test
+    public void testInterning() throws Exception {
+        assertSame(Aspect.allOf(A.class, B.class).excludeOf(C.class).get(),
+                Aspect.excludeOf(C.class).allOf(B.class, A.class).get());
+        assertNotSame(Aspect.allOf(A.class).get(), Aspect.oneOf(A.class).get());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Aspect>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(new Callable<Aspect>() {
+                    @Override
+                    public Aspect call() throws Exception {
+                        return Aspect.allOf(B.class).oneOf(A.class, C.class).get();
+                    }
+                }));
+            }
+            Aspect aspect = futures.get(0).get();
+            for (Future<Aspect> future : futures) {
+                assertSame(future.get(), aspect);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMaskMatchers() throws Exception {
+        Random random = new Random(42);
+        for (int width : new int[]{8, 64, 100, 128, 200}) {
+            for (int i = 0; i < 500; i++) {
+                BitSet all = randomBits(random, width, 2);
+                BitSet one = randomBits(random, width, 3);
+                BitSet exclude = randomBits(random, width, 2);
+                ComponentMatcher matcher = ComponentMatcher.compile(all, one, exclude);
+
+                for (int j = 0; j < 20; j++) {
+                    BitSet bits = randomBits(random, width, 8);
+                    bits.or(j % 2 == 0 ? all : new BitSet());
+                    boolean expected = containsAll(bits, all) && (one.isEmpty() || one.intersects(bits))
+                            && !exclude.intersects(bits);
+                    assertEquals(matcher.matches(ComponentMatcher.low(bits), ComponentMatcher.high(bits), bits), expected);
+                }
+            }
+        }
+    }
+
+    private static BitSet randomBits(Random random, int width, int count) {
+        BitSet bits = new BitSet();
+        for (int i = random.nextInt(count + 1); i > 0; i--) {
+            bits.set(random.nextInt(width));
+        }
+        return bits;
+    }
+
+    private static boolean containsAll(BitSet bits, BitSet all) {
+        BitSet missing = (BitSet) all.clone();
+        missing.andNot(bits);
+        return missing.isEmpty();
+    }
+
+    @SafeVarargs
+    private static Aspect getAspectForAll(Class<? extends Component>... componentClasses) {
+        return Aspect.allOf(componentClasses).get();
+    }
+
+    @SafeVarargs
+    private static Aspect getAspectForAllNodes(Class<? extends Node>... nodeClasses) {
+        return Aspect.allOfNodes(nodeClasses).get();
+    }
+
+    @Test
+    public void testBuilderReuse() throws Exception {
+        Aspect.Builder builder = new Aspect.Builder();
+        Aspect aspect = builder.allOf(A.class).excludeOf(C.class).get();
+        assertSame(builder.get(), aspect);
+
+        Aspect extended = builder.allOf(B.class).get();
+        assertNotSame(extended, aspect);
+        assertSame(extended, Aspect.allOf(A.class, B.class).excludeOf(C.class).get());
+        assertFalse(aspect.getAll().get(ComponentType.getIndexFor(B.class)));
+
+        assertSame(builder.reset().allOf(A.class).excludeOf(C.class).get(), aspect);
+        assertSame(builder.reset().get(), Aspect.allOf().get());
+    }
+
+    private static class A extends Component {
+    }
+
+    private static class B extends Component {
+    }
+
+    private static class C extends Component {
+    }
+
+    private static interface ANode extends Node {
+        A a();
+    }
+
+    private static interface BNode extends Node {
+        B b();
+    }
+
+    private static interface CNode extends Node {
+        C c();
+    }
+}
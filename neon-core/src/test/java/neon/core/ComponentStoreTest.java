@@ -0,0 +1,133 @@
+package neon.core;
+
+import neon.system.IteratingComponentSystem;
+import neon.util.ImmutableList;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ComponentStoreTest extends Assert {
+
+    private Engine engine;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        engine = new Engine();
+    }
+
+    @Test
+    public void testStore() throws Exception {
+        ComponentStore<Position> positions = engine.getComponentStore(Position.class);
+
+        Position a = new Position();
+        Position b = new Position();
+        Entity entityA = new Entity().addComponent(a);
+        Entity entityB = new Entity().addComponent(b);
+        Entity entityC = new Entity();
+        engine.addEntity(entityA);
+        engine.addEntity(entityB);
+        engine.addEntity(entityC);
+        assertEquals(positions.size(), 2);
+        assertSame(positions.get(entityA), a);
+        assertSame(positions.get(entityB), b);
+        assertNull(positions.get(entityC));
+
+        entityA.removeComponent(Position.class);
+        assertEquals(positions.size(), 1);
+        assertNull(positions.get(entityA));
+        assertSame(positions.getComponent(0), b);
+        assertSame(positions.getEntity(0), entityB);
+
+        engine.removeEntity(entityB);
+        assertTrue(positions.isEmpty());
+        assertFalse(positions.has(entityB));
+    }
+
+    @Test
+    public void testMapper() throws Exception {
+        ComponentMapper<Position> mapper = engine.getComponentMapper(Position.class);
+        Position position = new Position();
+        Entity entity = new Entity().addComponent(position);
+        assertSame(mapper.get(entity), position);
+
+        engine.addEntity(entity);
+        assertSame(mapper.get(entity), position);
+
+        Position replacement = new Position();
+        entity.addComponent(replacement);
+        assertSame(mapper.get(entity), replacement);
+        assertEquals(mapper.getComponentStore().size(), 1);
+    }
+
+    @Test
+    public void testStoreOwnsAttachedComponents() throws Exception {
+        ComponentStore<Position> positions = engine.getComponentStore(Position.class);
+        Position position = new Position();
+        Entity entity = new Entity().addComponent(position);
+        assertSame(entity.getComponent(Position.class), position);
+        assertEquals(entity.getComponents().size(), 1);
+
+        engine.addEntity(entity);
+        assertSame(positions.get(entity), position);
+        assertSame(entity.getComponent(Position.class), position);
+
+        Position replacement = new Position();
+        entity.addComponent(replacement);
+        assertSame(positions.get(entity), replacement);
+        assertSame(entity.getComponent(Position.class), replacement);
+        assertSame(entity.getComponents().get(0), replacement);
+
+        engine.removeEntity(entity);
+        assertTrue(positions.isEmpty());
+        assertSame(entity.getComponent(Position.class), replacement);
+        assertEquals(entity.getComponents().size(), 1);
+    }
+
+    @Test
+    public void testComponentsView() throws Exception {
+        Entity entity = new Entity();
+        ImmutableList<Component> components = entity.getComponents();
+        Position position = new Position();
+        entity.addComponent(position);
+        assertEquals(components.size(), 1);
+
+        engine.addEntity(entity);
+        Position replacement = new Position();
+        entity.addComponent(replacement);
+        assertEquals(components.size(), 1);
+        assertSame(components.get(0), replacement);
+
+        entity.removeComponent(Position.class);
+        assertTrue(components.isEmpty());
+    }
+
+    @Test
+    public void testIteratingComponentSystem() throws Exception {
+        MovementSystem system = new MovementSystem();
+        engine.addSystem(system);
+        for (int i = 0; i < 100; i++) {
+            engine.addEntity(new Entity().addComponent(new Position()));
+            engine.addEntity(new Entity());
+        }
+        engine.update(1);
+        engine.update(1);
+
+        for (Entity entity : engine.getEntities()) {
+            Position position = entity.getComponent(Position.class);
+            if (position != null) {
+                assertEquals(position.x, 2f);
+            }
+        }
+    }
+
+    private static class MovementSystem extends IteratingComponentSystem<Position> {
+        @Override
+        protected void processComponent(Entity entity, Position position, float deltaTime) {
+            position.x += deltaTime;
+        }
+    }
+
+    private static class Position extends Component {
+        float x;
+    }
+}
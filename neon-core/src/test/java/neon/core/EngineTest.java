@@ -0,0 +1,552 @@
+package neon.core;
+
+import neon.util.ImmutableList;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class EngineTest extends Assert {
+
+    private Engine engine;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        engine = new Engine();
+    }
+
+    @Test
+    public void testEngine() throws Exception {
+        TestSystem system = new TestSystem();
+        engine.addSystem(system);
+        assertTrue(system.addedToEngine);
+        engine.initialize();
+        assertTrue(system.initialized);
+        engine.update(0);
+        assertTrue(system.updated);
+    }
+
+    @Test
+    public void testEntityHandles() throws Exception {
+        Entity entity = new Entity();
+        engine.addEntity(entity);
+        int id = entity.getId();
+        assertSame(engine.getEntity(id), entity);
+
+        engine.removeEntity(entity);
+        assertNull(engine.getEntity(id));
+
+        Entity recycled = new Entity();
+        engine.addEntity(recycled);
+        assertNotEquals(recycled.getId(), id);
+        assertEquals(recycled.getId() & Engine.ENTITY_INDEX_MASK, id & Engine.ENTITY_INDEX_MASK);
+        assertSame(engine.getEntity(recycled.getId()), recycled);
+        assertNull(engine.getEntity(id));
+        assertNull(engine.getEntity(12345));
+    }
+
+    @Test
+    public void testEntityPooling() throws Exception {
+        engine.getNodesFor(TestNode.class);
+        Entity entity = engine.createEntity();
+        entity.addComponent(new TestComponent());
+        entity.addComponentListener(new ComponentListener() {
+            @Override
+            public void componentAdded(Entity entity, Component component) {
+                fail();
+            }
+
+            @Override
+            public void componentRemoved(Entity entity, Component component) {
+                fail();
+            }
+        });
+        engine.addEntity(entity);
+        assertEquals(engine.getNodesFor(TestNode.class).size(), 1);
+
+        engine.removeEntity(entity);
+        assertTrue(engine.getNodesFor(TestNode.class).isEmpty());
+
+        Entity recycled = engine.createEntity();
+        assertSame(recycled, entity);
+        assertEquals(recycled.getId(), 0);
+        assertTrue(recycled.getComponents().isEmpty());
+        assertFalse(recycled.hasComponent(TestComponent.class));
+        assertNull(recycled.getArchetype());
+
+        recycled.addComponent(new TestComponent());
+        engine.addEntity(recycled);
+        assertSame(engine.getEntity(recycled.getId()), recycled);
+        assertEquals(engine.getNodesFor(TestNode.class).size(), 1);
+    }
+
+    @Test
+    public void testComponentPooling() throws Exception {
+        Entity entity = engine.createEntity();
+        Health health = engine.createComponent(Health.class);
+        health.value = 10;
+        entity.addComponent(health);
+        engine.addEntity(entity);
+
+        assertNull(entity.removeComponent(Health.class));
+        assertEquals(health.value, 0);
+        assertSame(engine.createComponent(Health.class), health);
+
+        Health shared = new Health();
+        entity.addComponent(shared);
+        assertSame(entity.removeComponent(Health.class), shared);
+        assertNotSame(engine.createComponent(Health.class), shared);
+
+        Health pooled = engine.createComponent(Health.class);
+        pooled.value = 5;
+        entity.addComponent(pooled);
+        engine.removeEntity(entity);
+        assertEquals(pooled.value, 0);
+        assertSame(engine.createComponent(Health.class), pooled);
+    }
+
+    @Test
+    public void testDeferredPooledRemoval() throws Exception {
+        final Entity entity = engine.createEntity();
+        final Health health = engine.createComponent(Health.class);
+        health.value = 10;
+        entity.addComponent(health);
+        engine.addEntity(entity);
+
+        final Component[] removed = new Component[1];
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                removed[0] = entity.removeComponent(Health.class);
+                assertEquals(health.value, 10);
+            }
+        });
+        engine.update(0);
+
+        assertNull(removed[0]);
+        assertFalse(entity.hasComponent(Health.class));
+        assertSame(engine.createComponent(Health.class), health);
+    }
+
+    @Test
+    public void testCoalescedComponentOperations() throws Exception {
+        final Entity entity = new Entity().addComponent(new TestComponent());
+        engine.addEntity(entity);
+
+        final int[] counts = new int[4];
+        entity.addComponentListener(new ComponentListener() {
+            @Override
+            public void componentAdded(Entity entity, Component component) {
+                counts[0]++;
+            }
+
+            @Override
+            public void componentRemoved(Entity entity, Component component) {
+                counts[1]++;
+            }
+        });
+        engine.addEntityListener(Aspect.allOf(TestComponent.class).excludeOf(Health.class).get(), new EntityListener() {
+            @Override
+            public void entityAdded(Entity entity) {
+                counts[2]++;
+            }
+
+            @Override
+            public void entityRemoved(Entity entity) {
+                counts[3]++;
+            }
+        });
+
+        final Health cancelled = engine.createComponent(Health.class);
+        final TestComponent replaced = new TestComponent();
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                entity.addComponent(cancelled);
+                entity.removeComponent(TestComponent.class);
+                entity.addComponent(replaced);
+                entity.removeComponent(Health.class);
+            }
+        });
+        engine.update(0);
+
+        assertSame(entity.getComponent(TestComponent.class), replaced);
+        assertFalse(entity.hasComponent(Health.class));
+        assertEquals(counts[0], 1);
+        assertEquals(counts[1], 1);
+        assertEquals(counts[2], 0);
+        assertEquals(counts[3], 0);
+        assertSame(engine.createComponent(Health.class), cancelled);
+    }
+
+    @Test
+    public void testMassRemoval() throws Exception {
+        ImmutableList<Entity> aspectEntities = engine.getEntitiesFor(Aspect.allOf(TestComponent.class).get());
+        ImmutableList<TestNode> nodes = engine.getNodesFor(TestNode.class);
+
+        List<Entity> added = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Entity entity = new Entity().addComponent(new TestComponent());
+            engine.addEntity(entity);
+            added.add(entity);
+        }
+
+        Set<Entity> remaining = new HashSet<>();
+        for (int i = 0; i < added.size(); i++) {
+            if (i % 3 == 0) {
+                engine.removeEntity(added.get(i));
+            } else if (i % 3 == 1) {
+                added.get(i).removeComponent(TestComponent.class);
+            } else {
+                remaining.add(added.get(i));
+            }
+        }
+
+        assertEquals(engine.getEntities().size(), added.size() - (added.size() + 2) / 3);
+        assertEquals(new HashSet<>(Arrays.asList(aspectEntities.toArray(new Entity[0]))), remaining);
+        assertEquals(nodes.size(), remaining.size());
+        for (TestNode node : nodes) {
+            assertTrue(remaining.contains(node.getEntity()));
+        }
+
+        engine.removeAllEntities();
+        assertTrue(engine.getEntities().isEmpty());
+        assertTrue(aspectEntities.isEmpty());
+        assertTrue(nodes.isEmpty());
+    }
+
+    @Test
+    public void testRemoveNonMember() throws Exception {
+        Entity first = new Entity();
+        Entity second = new Entity();
+        engine.addEntity(first);
+        engine.addEntity(second);
+
+        engine.removeEntity(new Entity());
+        assertEquals(engine.getEntities().size(), 2);
+
+        engine.removeEntity(first);
+        engine.removeEntity(first);
+        assertEquals(engine.getEntities().size(), 1);
+        assertSame(engine.getEntities().get(0), second);
+
+        Engine other = new Engine();
+        Entity foreign = new Entity();
+        other.addEntity(foreign);
+        engine.removeEntity(foreign);
+        assertEquals(engine.getEntities().size(), 1);
+        assertEquals(other.getEntities().size(), 1);
+        assertSame(other.getEntity(foreign.getId()), foreign);
+    }
+
+    @Test
+    public void testDeferredRemoveNonMember() throws Exception {
+        final Entity member = new Entity();
+        final Entity removed = new Entity();
+        engine.addEntity(member);
+        engine.addEntity(removed);
+        engine.removeEntity(removed);
+
+        final Engine other = new Engine();
+        final Entity foreign = new Entity();
+        other.addEntity(foreign);
+
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                engine.removeEntity(new Entity());
+                engine.removeEntity(removed);
+                engine.removeEntity(foreign);
+            }
+        });
+        engine.update(0);
+
+        assertEquals(engine.getEntities().size(), 1);
+        assertSame(engine.getEntities().get(0), member);
+        assertEquals(other.getEntities().size(), 1);
+        assertFalse(foreign.scheduledForRemoval);
+    }
+
+    @Test
+    public void testDeferredReAdd() throws Exception {
+        final Entity entity = new Entity().addComponent(new Position());
+        final Entity other = new Entity();
+        engine.addEntity(entity);
+        engine.addEntity(other);
+        int id = entity.getId();
+
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                engine.removeEntity(entity);
+                engine.addEntity(entity);
+            }
+        });
+        engine.update(0);
+
+        assertEquals(engine.getEntities().size(), 2);
+        assertSame(engine.getEntity(entity.getId()), entity);
+        assertSame(engine.getEntity(other.getId()), other);
+        assertNull(engine.getEntity(id));
+        assertSame(engine.getComponentStore(Position.class).get(entity), entity.getComponent(Position.class));
+    }
+
+    @Test
+    public void testDoubleAdd() throws Exception {
+        final Entity entity = new Entity().addComponent(new Position());
+        engine.addEntity(entity);
+        int id = entity.getId();
+        engine.addEntity(entity);
+        assertEquals(engine.getEntities().size(), 1);
+        assertEquals(entity.getId(), id);
+
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                engine.addEntity(entity);
+            }
+        });
+        engine.update(0);
+
+        assertEquals(engine.getEntities().size(), 1);
+        assertEquals(entity.getId(), id);
+        assertSame(engine.getEntity(id), entity);
+        assertNotNull(entity.getComponent(Position.class));
+    }
+
+    @Test
+    public void testSpawnTemplate() throws Exception {
+        ImmutableList<Entity> aspectEntities = engine.getEntitiesFor(Aspect.allOf(Position.class).get());
+        ImmutableList<Entity> excluded = engine.getEntitiesFor(Aspect.allOf(Position.class).excludeOf(Health.class).get());
+        ImmutableList<PositionNode> nodes = engine.getNodesFor(PositionNode.class);
+
+        final List<Entity> added = new ArrayList<>();
+        final int[] nodesAdded = new int[1];
+        engine.addEntityListener(Aspect.allOf(Health.class).get(), new EntityListener() {
+            @Override
+            public void entityAdded(Entity entity) {
+                added.add(entity);
+            }
+
+            @Override
+            public void entityRemoved(Entity entity) {
+            }
+        });
+        engine.addNodeListener(PositionNode.class, new NodeListener() {
+            @Override
+            public void nodeAdded(Node node) {
+                nodesAdded[0]++;
+            }
+
+            @Override
+            public void nodeRemoved(Node node) {
+            }
+        });
+
+        EntityTemplate template = EntityTemplate.of(Position.class, Health.class);
+        Entity[] spawned = engine.spawn(template, 100);
+
+        assertEquals(spawned.length, 100);
+        assertEquals(engine.getEntities().size(), 100);
+        assertEquals(aspectEntities.size(), 100);
+        assertTrue(excluded.isEmpty());
+        assertEquals(nodes.size(), 100);
+        assertEquals(nodesAdded[0], 100);
+        assertEquals(added, Arrays.asList(spawned));
+
+        Entity entity = spawned[42];
+        assertSame(engine.getEntity(entity.getId()), entity);
+        assertSame(entity.getArchetype(), spawned[0].getArchetype());
+        assertSame(entity.asNode(PositionNode.class).getPosition(), entity.getComponent(Position.class));
+
+        entity.removeComponent(Health.class);
+        assertEquals(excluded.size(), 1);
+        engine.removeEntity(entity);
+        assertEquals(aspectEntities.size(), 99);
+        assertEquals(nodes.size(), 99);
+        assertTrue(excluded.isEmpty());
+    }
+
+    @Test
+    public void testPerEngineTypes() throws Exception {
+        Engine other = new Engine();
+        assertNotSame(other.getTypes(), engine.getTypes());
+
+        assertEquals(engine.getTypes().getIndexFor(Health.class), 0);
+        assertEquals(other.getTypes().getIndexFor(Position.class), 0);
+        assertEquals(other.getTypes().getIndexFor(Health.class), 1);
+
+        Aspect aspect = Aspect.allOf(Position.class).get();
+        ImmutableList<Entity> entities = other.getEntitiesFor(aspect);
+        ImmutableList<PositionNode> nodes = other.getNodesFor(PositionNode.class);
+
+        Entity entity = new Entity().addComponent(new Health()).addComponent(new Position());
+        other.addEntity(entity);
+        assertSame(entity.getComponent(Position.class).getClass(), Position.class);
+        assertTrue(aspect.matches(entity));
+        assertEquals(entities.size(), 1);
+        assertEquals(nodes.size(), 1);
+        assertSame(other.getComponentMapper(Health.class).get(entity), entity.getComponent(Health.class));
+        assertSame(ComponentMapper.getFor(Health.class).get(entity), entity.getComponent(Health.class));
+
+        Engine shared = new Engine(other.getTypes());
+        assertSame(shared.getTypes(), other.getTypes());
+        assertEquals(shared.getTypes().getIndexFor(Position.class), 0);
+    }
+
+    @Test
+    public void testForeignThreadChanges() throws Exception {
+        final Entity shared = new Entity();
+        engine.addEntity(shared);
+        engine.update(0);
+
+        final List<List<Entity>> created = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final List<Entity> local = new ArrayList<>();
+            created.add(local);
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 200; j++) {
+                        Entity entity = engine.createEntity();
+                        entity.addComponent(engine.createComponent(Health.class));
+                        engine.addEntity(entity);
+                        entity.addComponent(new Position());
+                        local.add(entity);
+                    }
+                    shared.addComponent(new Position());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (List<Entity> local : created) {
+            for (Entity entity : local) {
+                assertTrue(ids.add(entity.getId()));
+                assertNull(engine.getEntity(entity.getId()));
+            }
+        }
+        assertFalse(shared.hasComponent(Position.class));
+
+        engine.update(0);
+
+        assertEquals(engine.getEntities().size(), 801);
+        assertEquals(engine.getEntitiesFor(Aspect.allOf(Position.class, Health.class).get()).size(), 800);
+        assertTrue(shared.hasComponent(Position.class));
+        for (List<Entity> local : created) {
+            for (Entity entity : local) {
+                assertSame(engine.getEntity(entity.getId()), entity);
+            }
+        }
+        assertEquals(engine.getRegisteredThreadCount(), 0);
+    }
+
+    @Test
+    public void testForeignThreadBeforeFirstUpdate() throws Exception {
+        final Entity entity = new Entity();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                engine.addEntity(entity);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(engine.getEntities().isEmpty());
+        assertEquals(engine.getRegisteredThreadCount(), 1);
+
+        engine.update(0);
+        assertEquals(engine.getEntities().size(), 1);
+        assertSame(engine.getEntity(entity.getId()), entity);
+        assertEquals(engine.getRegisteredThreadCount(), 0);
+    }
+
+    @Test
+    public void testForeignThreadChurn() throws Exception {
+        engine.update(0);
+        int threadCount = 500;
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    engine.addEntity(new Entity());
+                }
+            });
+            thread.start();
+            thread.join();
+            engine.update(0);
+        }
+
+        assertEquals(engine.getEntities().size(), threadCount);
+        assertEquals(engine.getRegisteredThreadCount(), 0);
+        for (Entity entity : engine.getEntities()) {
+            assertTrue(entity.index < threadCount + Engine.ENTITY_INDEX_BLOCK_SIZE, "Entity index " + entity.index);
+            assertSame(engine.getEntity(entity.getId()), entity);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicateTemplateComponent() throws Exception {
+        EntityTemplate.of(Position.class, Position.class);
+    }
+
+    public static class Position extends Component {
+        float x;
+        float y;
+    }
+
+    public interface PositionNode extends Node {
+        Position getPosition();
+    }
+
+    public static class Health extends PooledComponent {
+        int value;
+
+        @Override
+        protected void reset() {
+            value = 0;
+        }
+    }
+
+    private interface TestNode extends Node {
+        TestComponent getTestComponent();
+    }
+
+    private static class TestComponent extends Component {
+    }
+
+    private static class TestSystem extends EntitySystem {
+
+        boolean initialized;
+        boolean addedToEngine;
+        boolean updated;
+
+        @Override
+        public void addedToEngine() {
+            addedToEngine = true;
+        }
+
+        @Override
+        public void initialize() {
+            initialized = true;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            updated = true;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package neon.core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EntityTest extends Assert {
+
+    @Test
+    public void testRemoveComponent() throws Exception {
+        A a = new A();
+        B b = new B();
+        Entity entity = new Entity().addComponent(a).addComponent(b);
+
+        assertSame(entity.removeComponent(A.class), a);
+        assertNull(entity.getComponent(A.class));
+        assertSame(entity.getComponent(B.class), b);
+        assertEquals(entity.getComponents().size(), 1);
+
+        entity.removeAllComponents();
+        assertNull(entity.getComponent(B.class));
+        assertTrue(entity.getComponents().isEmpty());
+    }
+
+    private static class A extends Component {
+    }
+
+    private static class B extends Component {
+    }
+}
@@ -0,0 +1,175 @@
+package neon.core;
+
+import neon.core.IngestionQueue.OverflowPolicy;
+import neon.event.Signal;
+import neon.event.SignalListener;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class IngestionQueueTest extends Assert {
+
+    @Test
+    public void testOverflowPolicies() throws Exception {
+        IngestionQueue rejecting = new IngestionQueue(4, OverflowPolicy.REJECT);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(rejecting.offer(i));
+        }
+        assertFalse(rejecting.offer(4));
+        assertEquals(rejecting.size(), 4);
+        assertEquals(rejecting.poll(), 0);
+
+        IngestionQueue dropping = new IngestionQueue(4, OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(dropping.offer(i));
+        }
+        assertEquals(dropping.getDroppedCount(), 2);
+        for (int i = 2; i < 6; i++) {
+            assertEquals(dropping.poll(), i);
+        }
+        assertNull(dropping.poll());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCapacity() throws Exception {
+        new IngestionQueue(3, OverflowPolicy.REJECT);
+    }
+
+    @Test
+    public void testMessageHierarchy() throws Exception {
+        Engine engine = new Engine();
+        final List<Input> received = new ArrayList<>();
+        engine.signal(Input.class).add(new SignalListener<Input>() {
+            @Override
+            public void receive(Signal<Input> signal, Input input) {
+                received.add(input);
+            }
+        });
+
+        IngestionQueue queue = engine.getIngestionQueue();
+        KeyInput keyInput = new KeyInput();
+        queue.offer(keyInput);
+        queue.offer("unhandled");
+        engine.update(0);
+
+        assertEquals(received.size(), 1);
+        assertSame(received.get(0), keyInput);
+        assertEquals(queue.getDroppedCount(), 1);
+    }
+
+    @Test
+    public void testQueueReplacement() throws Exception {
+        Engine engine = new Engine();
+        final List<Input> received = new ArrayList<>();
+        engine.signal(Input.class).add(new SignalListener<Input>() {
+            @Override
+            public void receive(Signal<Input> signal, Input input) {
+                received.add(input);
+            }
+        });
+
+        IngestionQueue previous = engine.getIngestionQueue();
+        assertTrue(previous.offer(new Input(0, 0)));
+        engine.setIngestionQueue(new IngestionQueue());
+        assertEquals(received.size(), 1);
+        assertTrue(previous.isClosed());
+        assertFalse(previous.offer(new Input(0, 0)));
+
+        engine.update(0);
+        try {
+            engine.setIngestionQueue(new IngestionQueue());
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int messagesPerProducer = 5000;
+
+        Engine engine = new Engine();
+        engine.setIngestionQueue(new IngestionQueue(64, OverflowPolicy.BLOCK));
+        final IngestionQueue queue = engine.getIngestionQueue();
+
+        final int[] lastReceived = new int[producers];
+        final int[] received = new int[1];
+        for (int i = 0; i < producers; i++) {
+            lastReceived[i] = -1;
+        }
+        engine.signal(Input.class).add(new SignalListener<Input>() {
+            @Override
+            public void receive(Signal<Input> signal, Input input) {
+                assertEquals(input.sequence, lastReceived[input.producer] + 1);
+                lastReceived[input.producer] = input.sequence;
+                received[0]++;
+            }
+        });
+
+        final CountDownLatch done = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            final int producer = i;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < messagesPerProducer; j++) {
+                        assertTrue(queue.offer(new Input(producer, j)));
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        while (done.getCount() > 0 || !queue.isEmpty()) {
+            engine.update(0);
+        }
+        assertEquals(received[0], producers * messagesPerProducer);
+        assertEquals(queue.getDroppedCount(), 0);
+    }
+
+    @Test
+    public void testStructuralCommands() throws Exception {
+        Engine engine = new Engine();
+        engine.setIngestionPhase(UpdatePhase.END);
+
+        final List<Integer> entityCounts = new ArrayList<>();
+        final Engine updated = engine;
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                entityCounts.add(updated.getEntities().size());
+            }
+        });
+
+        CommandBuffer commands = new CommandBuffer();
+        commands.addEntity(new Entity());
+        commands.addEntity(new Entity());
+        assertTrue(engine.getIngestionQueue().offer(commands));
+        assertEquals(engine.getEntities().size(), 0);
+
+        engine.update(0);
+        assertEquals(engine.getEntities().size(), 2);
+        engine.update(0);
+        assertEquals(entityCounts.get(0), Integer.valueOf(0));
+        assertEquals(entityCounts.get(1), Integer.valueOf(2));
+    }
+
+    static class Input {
+        final int producer;
+        final int sequence;
+
+        Input(int producer, int sequence) {
+            this.producer = producer;
+            this.sequence = sequence;
+        }
+    }
+
+    static final class KeyInput extends Input {
+        KeyInput() {
+            super(0, 0);
+        }
+    }
+}
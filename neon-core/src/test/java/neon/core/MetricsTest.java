@@ -0,0 +1,124 @@
+package neon.core;
+
+import neon.system.IteratingAspectSystem;
+import neon.util.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class MetricsTest extends Assert {
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        Engine engine = new Engine();
+        assertFalse(engine.isMetricsEnabled());
+        engine.update(0);
+
+        try {
+            engine.getMetrics();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testSystemMetrics() throws Exception {
+        Engine engine = new Engine();
+        engine.setMetricsEnabled(true);
+
+        Aspect positions = new Aspect.Builder(engine.getTypes()).allOf(Position.class).get();
+        Aspect marked = new Aspect.Builder(engine.getTypes()).allOf(Marker.class).get();
+        MarkingSystem system = new MarkingSystem(positions);
+        engine.addSystem(system);
+        engine.addEntityListener(marked, new EntityListener() {
+            @Override
+            public void entityAdded(Entity entity) {
+            }
+
+            @Override
+            public void entityRemoved(Entity entity) {
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            Position position = new Position();
+            position.removeOnUpdate = i == 0;
+            Entity entity = engine.createEntity();
+            entity.addComponent(position);
+            engine.addEntity(entity);
+        }
+        engine.update(0);
+
+        EngineMetrics metrics = engine.getMetrics();
+        assertEquals(metrics.getFrameCount(), 1);
+        assertEquals(metrics.getComponentOperations(), 10);
+        assertEquals(metrics.getEntityOperations(), 1);
+        assertEquals(metrics.getListenerNotifications(), 11);
+        assertTrue(metrics.getLastFrameMembershipEvaluations() > 0);
+        assertEquals(metrics.getAspectSizes().get(positions).intValue(), 9);
+        assertEquals(metrics.getAspectSizes().get(marked).intValue(), 9);
+
+        SystemMetrics systemMetrics = metrics.getSystem(MarkingSystem.class);
+        assertEquals(systemMetrics.getUpdateCount(), 1);
+        assertEquals(systemMetrics.getEntitiesProcessed(), 10);
+        assertEquals(systemMetrics.getComponentOperations(), 10);
+        assertEquals(systemMetrics.getEntityOperations(), 1);
+
+        engine.update(0);
+        assertEquals(engine.getMetrics().getSystem(MarkingSystem.class).getEntitiesProcessed(), 19);
+        assertEquals(engine.getMetrics().getLastFrameMembershipEvaluations(), 0);
+        assertEquals(metrics.getFrameCount(), 1);
+
+        engine.resetMetrics();
+        assertEquals(engine.getMetrics().getFrameCount(), 0);
+        assertEquals(engine.getMetrics().getSystem(MarkingSystem.class).getUpdateCount(), 0);
+
+        engine.setMetricsEnabled(false);
+        assertFalse(engine.isMetricsEnabled());
+    }
+
+    @Test
+    public void testHistogramPercentiles() throws Exception {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(histogram.getCount(), 1000);
+        assertEquals(histogram.getMin(), 1);
+        assertEquals(histogram.getMax(), 1000);
+        assertEquals(histogram.getMean(), 500.5, 0.001);
+        assertEquals(histogram.getValueAtPercentile(50), 500, 500 / 8);
+        assertEquals(histogram.getValueAtPercentile(99), 990, 990 / 8);
+        assertEquals(histogram.getValueAtPercentile(100), 1000);
+
+        Histogram copy = histogram.copy();
+        histogram.reset();
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getValueAtPercentile(50), 0);
+        assertEquals(copy.getCount(), 1000);
+    }
+
+    private static class MarkingSystem extends IteratingAspectSystem {
+
+        public MarkingSystem(Aspect aspect) {
+            super(aspect);
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            if (entity.getComponent(Marker.class) == null) {
+                entity.addComponent(new Marker());
+                if (entity.getComponent(Position.class).removeOnUpdate) {
+                    getEngine().removeEntity(entity);
+                }
+            }
+        }
+    }
+
+    public static class Position extends Component {
+        public boolean removeOnUpdate;
+    }
+
+    public static class Marker extends Component {
+    }
+}
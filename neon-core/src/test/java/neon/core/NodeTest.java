@@ -0,0 +1,146 @@
+package neon.core;
+
+import neon.system.IteratingNodeSystem;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+
+public class NodeTest extends Assert {
+
+    @Test
+    public void testNodes() throws Exception {
+        Engine engine = new Engine();
+        TestSystem system = new TestSystem();
+        engine.addSystem(system);
+
+        ComponentA componentA = new ComponentA();
+        ComponentB componentB = new ComponentB();
+
+        Entity entity = new Entity()
+                .addComponent(componentA)
+                .addComponent(componentB);
+
+        engine.addEntity(entity);
+        assertFalse(system.getNodes().isEmpty());
+
+        assertSame(componentA, entity.asNode(ABNode.class).getA());
+        assertSame(componentB, entity.asNode(ABNode.class).getB());
+        engine.update(0);
+    }
+
+    @Test
+    public void testNodeMethods() throws Exception {
+        Engine engine = new Engine();
+        ComponentA componentA = new ComponentA();
+        ComponentB componentB = new ComponentB();
+
+        Entity entity = new Entity()
+                .addComponent(componentA)
+                .addComponent(componentB);
+        engine.addEntity(entity);
+
+        ABNode node = NodeFamily.getFor(ABNode.class).get(entity);
+        ABCNode derived = NodeFamily.getFor(ABCNode.class).get(entity);
+
+        assertSame(componentA, derived.getA());
+        assertSame(componentB, derived.getB());
+        assertNull(derived.getC());
+        assertSame(entity, derived.getEntity());
+        assertEquals(derived, node);
+        assertEquals(derived.hashCode(), entity.hashCode());
+        assertEquals(derived.toString(), entity.toString());
+
+        ComponentC componentC = new ComponentC();
+        entity.addComponent(componentC);
+        assertSame(componentC, derived.getC());
+    }
+
+    @Test
+    public void testGeneratedNode() throws Exception {
+        Engine engine = new Engine();
+        Position position = new Position();
+        Entity entity = new Entity().addComponent(position);
+        engine.addEntity(entity);
+
+        MovingNode node = entity.asNode(MovingNode.class);
+        assertTrue(node instanceof GeneratedNode);
+        assertSame(node.getPosition(), position);
+        assertNull(node.getVelocity());
+        assertSame(node.getEntity(), entity);
+
+        Velocity velocity = new Velocity();
+        entity.addComponent(velocity);
+        assertSame(node.getVelocity(), velocity);
+
+        ABNode proxy = NodeFamily.getFor(ABNode.class).get(entity);
+        assertTrue(Proxy.isProxyClass(proxy.getClass()));
+        assertEquals(node, proxy);
+        assertEquals(node.hashCode(), entity.hashCode());
+        assertEquals(node.toString(), entity.toString());
+
+        engine.removeEntity(entity);
+        assertSame(node.getPosition(), position);
+        assertSame(node.getVelocity(), velocity);
+    }
+
+    @Test
+    public void testGeneratedNodeAcrossEngines() throws Exception {
+        Engine first = new Engine();
+        Engine second = new Engine();
+        first.getNodesFor(MovingNode.class);
+        second.getNodesFor(MovingNode.class);
+
+        Position position = new Position();
+        Entity entity = new Entity().addComponent(position).addComponent(new Velocity());
+        MovingNode node = entity.asNode(MovingNode.class);
+        first.addEntity(entity);
+        assertSame(first.getNodesFor(MovingNode.class).get(0).getPosition(), position);
+
+        first.removeEntity(entity);
+        second.addEntity(entity);
+        Position replacement = new Position();
+        entity.addComponent(replacement);
+        assertSame(second.getNodesFor(MovingNode.class).get(0).getPosition(), replacement);
+        assertSame(entity.asNode(MovingNode.class).getPosition(), replacement);
+        assertSame(node.getPosition(), replacement);
+    }
+
+    static interface MovingNode extends Node {
+        Position getPosition();
+
+        Velocity getVelocity();
+    }
+
+    static class Position extends Component {
+    }
+
+    static class Velocity extends Component {
+    }
+
+    private static interface ABCNode extends ABNode {
+        ComponentC getC();
+    }
+
+    private static interface ABNode extends Node {
+        ComponentA getA();
+
+        ComponentB getB();
+    }
+
+    private static class ComponentA extends Component {
+    }
+
+    private static class ComponentB extends Component {
+    }
+
+    private static class ComponentC extends Component {
+    }
+
+    private static class TestSystem extends IteratingNodeSystem<ABNode> {
+        @Override
+        protected void processNode(ABNode node, float deltaTime) {
+            assertSame(node.getEntity().asNode(ABNode.class), node);
+        }
+    }
+}
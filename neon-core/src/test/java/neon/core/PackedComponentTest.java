@@ -0,0 +1,140 @@
+package neon.core;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class PackedComponentTest extends Assert {
+
+    private Engine engine;
+    private PackedComponentStore<Position> positions;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        engine = new Engine();
+        positions = engine.getPackedComponentStore(Position.class);
+    }
+
+    @Test
+    public void testLayout() throws Exception {
+        assertEquals(positions.getRecordSize(), 24);
+        assertEquals(positions.getFieldOffset("id"), 0);
+        assertEquals(positions.getFieldOffset("x"), 8);
+        assertEquals(positions.getFieldOffset("y"), 12);
+        assertEquals(positions.getFieldOffset("z"), 16);
+        assertEquals(positions.getFieldOffset("flag"), 20);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNotPacked() throws Exception {
+        engine.getPackedComponentStore(Name.class);
+    }
+
+    @Test
+    public void testPackedStorage() throws Exception {
+        Entity entity = new Entity().addComponent(new Position(1, 2, 3)).addComponent(new Name());
+        engine.addEntity(entity);
+
+        assertEquals(positions.size(), 1);
+        assertEquals(entity.getComponents().size(), 1);
+        assertTrue(entity.hasComponent(Position.class));
+        assertTrue(Aspect.allOf(Position.class, Name.class).get().matches(entity));
+
+        Position position = positions.get(entity, new Position());
+        assertEquals(position.x, 1f);
+        assertEquals(position.y, 2f);
+        assertEquals(position.z, 3f);
+
+        int index = positions.indexOf(entity);
+        positions.setFloat(index, positions.getFieldOffset("x"), 10);
+        assertEquals(positions.get(entity, position).x, 10f);
+
+        position.y = 20;
+        positions.set(entity, position);
+        assertEquals(positions.getFloat(index, positions.getFieldOffset("y")), 20f);
+
+        engine.removeEntity(entity);
+        assertTrue(positions.isEmpty());
+        assertEquals(entity.getComponents().size(), 2);
+        position = entity.getComponent(Position.class);
+        assertEquals(position.x, 10f);
+        assertEquals(position.y, 20f);
+    }
+
+    @Test
+    public void testPlainAccessRejected() throws Exception {
+        Entity entity = new Entity().addComponent(new Position(1, 2, 3));
+        assertEquals(entity.getComponent(Position.class).x, 1f);
+        engine.addEntity(entity);
+
+        try {
+            entity.getComponent(Position.class);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            ComponentMapper.getFor(Position.class).get(entity);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            engine.getComponentMapper(Position.class);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            engine.getNodesFor(PositionNode.class);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testSwapRemove() throws Exception {
+        Entity[] entities = new Entity[40];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = new Entity().addComponent(new Position(i, i, i));
+            engine.addEntity(entities[i]);
+        }
+        for (int i = 0; i < entities.length; i += 2) {
+            assertNull(entities[i].removeComponent(Position.class));
+        }
+
+        assertEquals(positions.size(), entities.length / 2);
+        Position position = new Position();
+        for (int i = 0; i < entities.length; i++) {
+            if (i % 2 == 0) {
+                assertNull(positions.get(entities[i], position));
+                assertFalse(entities[i].hasComponent(Position.class));
+            } else {
+                assertEquals(positions.get(entities[i], position).z, (float) i);
+            }
+        }
+        assertEquals(positions.getBuffer().remaining(), positions.size() * positions.getRecordSize());
+    }
+
+    @Packed
+    private static class Position extends Component {
+        long id;
+        float x;
+        float y;
+        float z;
+        boolean flag;
+
+        Position() {
+        }
+
+        Position(float x, float y, float z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    private static class Name extends Component {
+    }
+
+    private interface PositionNode extends Node {
+        Position getPosition();
+    }
+}
@@ -0,0 +1,283 @@
+package neon.core;
+
+import neon.event.Signal;
+import neon.event.SignalListener;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+public class SystemSchedulerTest extends Assert {
+
+    private Engine engine;
+    private ForkJoinPool pool;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        engine = new Engine();
+        pool = new ForkJoinPool(4);
+        engine.setForkJoinPool(pool);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testStages() throws Exception {
+        List<EntitySystem> systems = Arrays.<EntitySystem>asList(
+                new WriteA(0, null), new WriteB(0, null), new ReadA(0, null), new Exclusive(0, null), new WriteB(0, null));
+        List<SystemScheduler.Stage> stages = new SystemScheduler(systems, engine.getTypes()).getStages();
+
+        assertEquals(stages.size(), 4);
+        assertEquals(stages.get(0).size(), 2);
+        assertEquals(stages.get(1).size(), 1);
+        assertSame(stages.get(1).getSystem(0), systems.get(2));
+        assertSame(stages.get(2).getSystem(0), systems.get(3));
+        assertSame(stages.get(3).getSystem(0), systems.get(4));
+    }
+
+    @Test
+    public void testParallelUpdate() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        engine.addSystem(new WriteA(0, barrier, order));
+        engine.addSystem(new WriteB(0, barrier, order));
+        engine.addSystem(new ReadA(1, null, order));
+
+        engine.update(0);
+
+        assertEquals(order.size(), 3);
+        assertEquals(order.get(2), "ReadA");
+    }
+
+    @Test
+    public void testDeferredChanges() throws Exception {
+        final List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Entity entity = new Entity();
+            engine.addEntity(entity);
+            entities.add(entity);
+        }
+
+        engine.addSystem(new WriteA(0, null) {
+            @Override
+            public void update(float deltaTime) {
+                for (Entity entity : entities) {
+                    entity.addComponent(new A());
+                }
+            }
+        });
+        engine.addSystem(new WriteB(0, null) {
+            @Override
+            public void update(float deltaTime) {
+                for (Entity entity : entities) {
+                    entity.addComponent(new B());
+                }
+            }
+        });
+
+        engine.update(0);
+
+        assertEquals(engine.getEntitiesFor(Aspect.allOf(A.class, B.class).get()).size(), 100);
+    }
+
+    @Test
+    public void testDeterministicMerge() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        engine.addSystem(new WriteA(0, barrier) {
+            @Override
+            public void update(float deltaTime) {
+                super.update(deltaTime);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                getEngine().addEntity(new Entity().addComponent(new A()));
+            }
+        });
+        engine.addSystem(new WriteB(0, barrier) {
+            @Override
+            public void update(float deltaTime) {
+                super.update(deltaTime);
+                getEngine().addEntity(new Entity().addComponent(new B()));
+            }
+        });
+
+        engine.update(0);
+
+        assertEquals(engine.getEntities().size(), 2);
+        assertTrue(engine.getEntities().get(0).hasComponent(A.class));
+        assertTrue(engine.getEntities().get(1).hasComponent(B.class));
+    }
+
+    @Test
+    public void testStructuralChangesWithinStage() throws Exception {
+        final Entity entity = new Entity();
+        engine.addEntity(entity);
+
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final boolean[] observed = new boolean[2];
+        final Signal<?>[] signals = new Signal<?>[2];
+        engine.addSystem(new WriteA(0, null) {
+            @Override
+            public void update(float deltaTime) {
+                entity.addComponent(new A());
+                signals[0] = signal(String.class);
+                await(barrier);
+                await(barrier);
+            }
+        });
+        engine.addSystem(new WriteB(0, null) {
+            @Override
+            public void update(float deltaTime) {
+                signals[1] = signal(String.class);
+                await(barrier);
+                observed[0] = entity.hasComponent(A.class);
+                await(barrier);
+            }
+        });
+        engine.addSystem(new ReadA(1, null) {
+            @Override
+            public void update(float deltaTime) {
+                observed[1] = entity.hasComponent(A.class);
+            }
+        });
+
+        engine.update(0);
+
+        assertFalse(observed[0]);
+        assertTrue(observed[1]);
+        assertSame(signals[0], signals[1]);
+        assertSame(engine.signal(String.class), signals[0]);
+    }
+
+    @Test
+    public void testQueuedSignalWithinStage() throws Exception {
+        final Signal<Integer> signal = new Signal<>(true);
+        engine.addSignal(signal, UpdatePhase.END);
+        final List<Integer> received = new ArrayList<>();
+        signal.add(new SignalListener<Integer>() {
+            @Override
+            public void receive(Signal<Integer> signal, Integer value) {
+                received.add(value);
+            }
+        });
+
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        engine.addSystem(new WriteA(0, null) {
+            @Override
+            public void update(float deltaTime) {
+                await(barrier);
+                for (int i = 0; i < 1000; i++) {
+                    signal.dispatch(i);
+                }
+            }
+        });
+        engine.addSystem(new WriteB(0, null) {
+            @Override
+            public void update(float deltaTime) {
+                await(barrier);
+                for (int i = 1000; i < 2000; i++) {
+                    signal.dispatch(i);
+                }
+            }
+        });
+
+        engine.update(0);
+
+        assertEquals(received.size(), 2000);
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(received.get(i), Integer.valueOf(i));
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class ScheduledSystem extends EntitySystem {
+
+        private final CyclicBarrier barrier;
+        private final List<String> order;
+
+        ScheduledSystem(int priority, CyclicBarrier barrier, List<String> order) {
+            super(priority);
+            this.barrier = barrier;
+            this.order = order;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            try {
+                if (barrier != null) {
+                    barrier.await(5, TimeUnit.SECONDS);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            if (order != null) {
+                order.add(getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Access(write = A.class)
+    private static class WriteA extends ScheduledSystem {
+        WriteA(int priority, CyclicBarrier barrier, List<String> order) {
+            super(priority, barrier, order);
+        }
+
+        WriteA(int priority, CyclicBarrier barrier) {
+            this(priority, barrier, null);
+        }
+    }
+
+    @Access(write = B.class)
+    private static class WriteB extends ScheduledSystem {
+        WriteB(int priority, CyclicBarrier barrier, List<String> order) {
+            super(priority, barrier, order);
+        }
+
+        WriteB(int priority, CyclicBarrier barrier) {
+            this(priority, barrier, null);
+        }
+    }
+
+    @Access(read = A.class)
+    private static class ReadA extends ScheduledSystem {
+        ReadA(int priority, CyclicBarrier barrier, List<String> order) {
+            super(priority, barrier, order);
+        }
+
+        ReadA(int priority, CyclicBarrier barrier) {
+            this(priority, barrier, null);
+        }
+    }
+
+    private static class Exclusive extends ScheduledSystem {
+        Exclusive(int priority, CyclicBarrier barrier) {
+            super(priority, barrier, null);
+        }
+    }
+
+    private static class A extends Component {
+    }
+
+    private static class B extends Component {
+    }
+}
@@ -0,0 +1,94 @@
+package neon.core;
+
+import neon.core.EngineTest.Position;
+import neon.core.EngineTest.PositionNode;
+import neon.event.EventListener;
+import neon.system.IteratingNodeSystem;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class WireTest extends Assert {
+
+    @Test
+    public void testGeneratedInjection() throws Exception {
+        assertNotNull(ClassMetadata.getFor(WiredSystem.class));
+
+        Engine engine = new Engine();
+        OtherSystem other = new OtherSystem();
+        WiredSystem system = new WiredSystem();
+        engine.addSystem(other);
+        engine.addSystem(system);
+        engine.initialize();
+
+        assertSame(system.engine, engine);
+        assertSame(system.other, other);
+        assertSame(system.positions.getComponentStore(), engine.getComponentMapper(Position.class).getComponentStore());
+        assertSame(system.positionNodes, engine.getTypes().getNodeFamily(PositionNode.class));
+        assertNull(system.ignored);
+
+        engine.event(TestListener.class).dispatch().onEvent();
+        assertEquals(system.events, 1);
+    }
+
+    @Test
+    public void testReflectiveInjection() throws Exception {
+        assertNull(ClassMetadata.getFor(PrivateWiredSystem.class));
+
+        Engine engine = new Engine();
+        PrivateWiredSystem system = new PrivateWiredSystem();
+        engine.addSystem(system);
+        engine.initialize();
+
+        assertSame(system.getWiredEngine(), engine);
+    }
+
+    @Test
+    public void testGeneratedNodeClass() throws Exception {
+        ClassMetadata<PositionSystem> metadata = ClassMetadata.getFor(PositionSystem.class);
+        assertNotNull(metadata);
+        assertSame(metadata.getNodeClass(), PositionNode.class);
+        assertSame(new PositionSystem().getNodeClass(), PositionNode.class);
+    }
+
+    public interface TestListener extends EventListener {
+        void onEvent();
+    }
+
+    static class OtherSystem extends EntitySystem {
+    }
+
+    static class WiredSystem extends EntitySystem implements TestListener {
+        @Wire
+        Engine engine;
+        @Wire
+        OtherSystem other;
+        @Wire
+        ComponentMapper<Position> positions;
+        @Wire
+        NodeFamily<PositionNode> positionNodes;
+        @Wire
+        String ignored;
+
+        int events;
+
+        @Override
+        public void onEvent() {
+            events++;
+        }
+    }
+
+    static class PrivateWiredSystem extends EntitySystem {
+        @Wire
+        private Engine engine;
+
+        Engine getWiredEngine() {
+            return engine;
+        }
+    }
+
+    static class PositionSystem extends IteratingNodeSystem<PositionNode> {
+        @Override
+        protected void processNode(PositionNode node, float deltaTime) {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package neon.event;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventTest extends Assert {
+
+    @Test
+    public void testGeneratedDispatch() throws Exception {
+        Event<DamageListener> event = new Event<>(DamageListener.class);
+        assertTrue(event.dispatch() instanceof EventDispatcher);
+
+        final List<String> received = new ArrayList<>();
+        DamageListener first = new DamageListener() {
+            @Override
+            public void onDamage(String target, int amount) {
+                received.add("first " + target + " " + amount);
+            }
+        };
+        DamageListener second = new DamageListener() {
+            @Override
+            public void onDamage(String target, int amount) {
+                received.add("second " + target + " " + amount);
+            }
+        };
+        event.add(first);
+        event.add(second);
+        assertTrue(event.hasListeners());
+
+        event.dispatch().onDamage("orc", 5);
+        assertEquals(received, list("first orc 5", "second orc 5"));
+
+        event.remove(first);
+        received.clear();
+        event.dispatch().onDamage("elf", 3);
+        assertEquals(received, list("second elf 3"));
+
+        event.removeAll();
+        assertFalse(event.hasListeners());
+    }
+
+    @Test
+    public void testProxyDispatch() throws Exception {
+        Event<HiddenListener> event = new Event<>(HiddenListener.class);
+        assertFalse(event.dispatch() instanceof EventDispatcher);
+
+        final int[] count = new int[1];
+        event.add(new HiddenListener() {
+            @Override
+            public void onEvent() {
+                count[0]++;
+            }
+        });
+
+        event.dispatch().onEvent();
+        assertEquals(count[0], 1);
+    }
+
+    @Test
+    public void testRemoveDuringDispatch() throws Exception {
+        final Event<DamageListener> event = new Event<>(DamageListener.class);
+        final List<String> received = new ArrayList<>();
+
+        event.add(new DamageListener() {
+            @Override
+            public void onDamage(String target, int amount) {
+                received.add("first");
+                event.removeAll();
+            }
+        });
+        event.add(new DamageListener() {
+            @Override
+            public void onDamage(String target, int amount) {
+                received.add("second");
+            }
+        });
+
+        event.dispatch().onDamage("orc", 1);
+        assertEquals(received, list("first", "second"));
+        assertFalse(event.hasListeners());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidListener() throws Exception {
+        new Event<>(InvalidListener.class);
+    }
+
+    private static List<String> list(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    public interface DamageListener extends EventListener {
+        void onDamage(String target, int amount);
+    }
+
+    private interface HiddenListener extends EventListener {
+        void onEvent();
+    }
+
+    public interface InvalidListener extends EventListener {
+        int onEvent();
+    }
+}
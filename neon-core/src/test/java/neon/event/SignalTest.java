@@ -0,0 +1,145 @@
+package neon.event;
+
+import neon.core.Engine;
+import neon.core.EntitySystem;
+import neon.core.UpdatePhase;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SignalTest extends Assert {
+
+    @Test
+    public void testQueuedDelivery() throws Exception {
+        Signal<Integer> signal = new Signal<>(true);
+        final List<String> received = new ArrayList<>();
+        signal.add(new RecordingListener("a", received));
+        signal.add(new RecordingListener("b", received));
+
+        signal.dispatch(1);
+        signal.dispatch(2);
+        assertTrue(received.isEmpty());
+        assertEquals(signal.getPendingCount(), 2);
+
+        signal.flush();
+        assertEquals(received, list("a1", "a2", "b1", "b2"));
+        assertEquals(signal.getPendingCount(), 0);
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        Signal<int[]> signal = new Signal<>(new SignalKey<int[]>() {
+            @Override
+            public Object getKey(int[] object) {
+                return object[0];
+            }
+        });
+        final List<String> received = new ArrayList<>();
+        signal.add(new SignalListener<int[]>() {
+            @Override
+            public void receive(Signal<int[]> signal, int[] object) {
+                received.add(object[0] + ":" + object[1]);
+            }
+        });
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                signal.dispatch(new int[]{i % 40, i});
+            }
+            assertEquals(signal.getPendingCount(), 40);
+
+            received.clear();
+            signal.flush();
+            assertEquals(received.size(), 40);
+            for (int i = 0; i < 40; i++) {
+                assertEquals(received.get(i), i + ":" + (i < 20 ? 80 + i : 40 + i));
+            }
+        }
+    }
+
+    @Test
+    public void testReentrantDispatch() throws Exception {
+        final Signal<Integer> signal = new Signal<>(true);
+        final List<Integer> received = new ArrayList<>();
+        signal.add(new SignalListener<Integer>() {
+            @Override
+            public void receive(Signal<Integer> signal, Integer object) {
+                received.add(object);
+                if (object < 40) {
+                    signal.dispatch(object + 20);
+                    signal.dispatch(object + 40);
+                }
+            }
+        });
+
+        for (int i = 0; i < 20; i++) {
+            signal.dispatch(i);
+        }
+        signal.flush();
+        assertEquals(received.size(), 20);
+        assertEquals(signal.getPendingCount(), 40);
+
+        signal.flush();
+        assertEquals(received.size(), 60);
+        for (int i = 0; i < 20; i++) {
+            assertEquals((int) received.get(20 + i * 2), i + 20);
+            assertEquals((int) received.get(21 + i * 2), i + 40);
+        }
+    }
+
+    @Test
+    public void testEngineDelivery() throws Exception {
+        final Engine engine = new Engine();
+        final Signal<Integer> signal = new Signal<>(true);
+        final List<String> received = new ArrayList<>();
+        signal.add(new RecordingListener("", received));
+
+        engine.addSystem(new EntitySystem() {
+            @Override
+            public void update(float deltaTime) {
+                int count = received.size();
+                signal.dispatch(1);
+                assertEquals(received.size(), count);
+            }
+        });
+        engine.addSignal(signal, UpdatePhase.END);
+
+        engine.update(0);
+        assertEquals(received, list("1"));
+
+        engine.removeSignal(signal);
+        engine.update(0);
+        assertEquals(signal.getPendingCount(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSynchronousSignalRegistration() throws Exception {
+        new Engine().addSignal(new Signal<>(), UpdatePhase.START);
+    }
+
+    private static List<String> list(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static final class RecordingListener implements SignalListener<Integer> {
+
+        private final String name;
+        private final List<String> received;
+
+        RecordingListener(String name, List<String> received) {
+            this.name = name;
+            this.received = received;
+        }
+
+        @Override
+        public void receive(Signal<Integer> signal, Integer object) {
+            received.add(name + object);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package neon.fsm;
+
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.core.PooledComponent;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EntityStateMachineTest extends Assert {
+
+    @Test
+    public void testPooledStateComponents() throws Exception {
+        Engine engine = new Engine();
+        Entity entity = engine.createEntity();
+        engine.addEntity(entity);
+
+        EntityStateMachine stateMachine = new EntityStateMachine(entity);
+        stateMachine.createState("walk").add(Walk.class);
+        stateMachine.createState("idle").add(Idle.class);
+
+        stateMachine.changeState("walk");
+        Walk walk = entity.getComponent(Walk.class);
+        walk.speed = 2;
+
+        stateMachine.changeState("idle");
+        assertNull(entity.getComponent(Walk.class));
+        assertEquals(walk.speed, 0f);
+
+        stateMachine.changeState("walk");
+        assertSame(entity.getComponent(Walk.class), walk);
+    }
+
+    public static class Walk extends PooledComponent {
+        float speed;
+
+        @Override
+        protected void reset() {
+            speed = 0;
+        }
+    }
+
+    public static class Idle extends PooledComponent {
+        @Override
+        protected void reset() {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package neon.system;
+
+import neon.core.Aspect;
+import neon.core.Component;
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.core.Node;
+import neon.util.ImmutableList;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelIteratingSystemTest extends Assert {
+
+    private Engine engine;
+    private ForkJoinPool pool;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        engine = new Engine();
+        pool = new ForkJoinPool(4);
+        engine.setForkJoinPool(pool);
+        for (int i = 0; i < 1000; i++) {
+            engine.addEntity(new Entity().addComponent(new Value(i)));
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testAspectSystem() throws Exception {
+        final AtomicInteger processed = new AtomicInteger();
+        engine.addSystem(new ParallelIteratingAspectSystem(Aspect.allOf(Value.class).excludeOf(Spawned.class).get(), 0, 64) {
+            @Override
+            protected void processEntity(Entity entity, float deltaTime) {
+                processed.incrementAndGet();
+                int value = entity.getComponent(Value.class).value;
+                if (value % 2 == 0) {
+                    entity.addComponent(new Even());
+                    getEngine().addEntity(new Entity().addComponent(new Spawned(value)));
+                }
+            }
+        });
+
+        engine.update(0);
+
+        assertEquals(processed.get(), 1000);
+        assertEquals(engine.getEntitiesFor(Aspect.allOf(Even.class).get()).size(), 500);
+
+        ImmutableList<Entity> entities = engine.getEntities();
+        assertEquals(entities.size(), 1500);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(entities.get(1000 + i).getComponent(Spawned.class).source, i * 2);
+        }
+    }
+
+    @Test
+    public void testNodeSystem() throws Exception {
+        final AtomicInteger processed = new AtomicInteger();
+        engine.addSystem(new ParallelIteratingNodeSystem<ValueNode>(0, 100) {
+            @Override
+            protected void processNode(ValueNode node, float deltaTime) {
+                processed.incrementAndGet();
+                node.getValue().value++;
+            }
+        });
+
+        engine.update(0);
+
+        assertEquals(processed.get(), 1000);
+        int sum = 0;
+        for (Entity entity : engine.getEntities()) {
+            sum += entity.getComponent(Value.class).value;
+        }
+        assertEquals(sum, 1000 * 999 / 2 + 1000);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidGrainSize() throws Exception {
+        new ParallelIteratingNodeSystem<ValueNode>(0, 0) {
+            @Override
+            protected void processNode(ValueNode node, float deltaTime) {
+            }
+        };
+    }
+
+    public interface ValueNode extends Node {
+        Value getValue();
+    }
+
+    public static class Value extends Component {
+        int value;
+
+        Value(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class Even extends Component {
+    }
+
+    public static class Spawned extends Component {
+        final int source;
+
+        Spawned(int source) {
+            this.source = source;
+        }
+    }
+}
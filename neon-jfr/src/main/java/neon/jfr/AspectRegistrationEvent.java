@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.AspectRegistration")
+@Label("Aspect Registration")
+@Description("Aspect registered with the engine")
+@Category({"Neon", "Registration"})
+@StackTrace(false)
+final class AspectRegistrationEvent extends Event {
+
+    @Label("Aspect Index")
+    int aspectIndex;
+
+    @Label("Entities")
+    int entityCount;
+}
@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.ComponentOperations")
+@Label("Component Operations Flush")
+@Description("Deferred component operations applied by the engine")
+@Category({"Neon", "Structural Changes"})
+@StackTrace(false)
+final class ComponentOperationsEvent extends Event {
+
+    @Label("Operations")
+    int operationCount;
+
+    @Label("Entities")
+    int entityCount;
+}
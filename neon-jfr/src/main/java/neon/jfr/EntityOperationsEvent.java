@@ -0,0 +1,19 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.EntityOperations")
+@Label("Entity Operations Flush")
+@Description("Deferred entity additions and removals applied by the engine")
+@Category({"Neon", "Structural Changes"})
+@StackTrace(false)
+final class EntityOperationsEvent extends Event {
+
+    @Label("Operations")
+    int operationCount;
+}
@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.Frame")
+@Label("Frame")
+@Description("Engine update")
+@Category({"Neon", "Engine"})
+@StackTrace(false)
+final class FrameEvent extends Event {
+
+    @Label("Entities")
+    int entityCount;
+
+    @Label("Systems")
+    int systemCount;
+}
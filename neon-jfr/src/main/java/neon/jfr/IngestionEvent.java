@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.Ingestion")
+@Label("Ingestion")
+@Description("Messages drained from the ingestion queue")
+@Category({"Neon", "Dispatch"})
+@StackTrace(false)
+final class IngestionEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Messages")
+    int messageCount;
+}
@@ -0,0 +1,150 @@
+package neon.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import neon.core.Aspect;
+import neon.core.Engine;
+import neon.core.EngineMonitor;
+import neon.core.EntitySystem;
+import neon.core.Node;
+import neon.core.UpdatePhase;
+
+public final class JfrEngineMonitor extends EngineMonitor {
+
+    private static final EventType FRAME = EventType.getEventType(FrameEvent.class);
+    private static final EventType SYSTEM_UPDATE = EventType.getEventType(SystemUpdateEvent.class);
+    private static final EventType COMPONENT_OPERATIONS = EventType.getEventType(ComponentOperationsEvent.class);
+    private static final EventType ENTITY_OPERATIONS = EventType.getEventType(EntityOperationsEvent.class);
+    private static final EventType ASPECT_REGISTRATION = EventType.getEventType(AspectRegistrationEvent.class);
+    private static final EventType NODE_REGISTRATION = EventType.getEventType(NodeRegistrationEvent.class);
+    private static final EventType SIGNAL_FLUSH = EventType.getEventType(SignalFlushEvent.class);
+    private static final EventType INGESTION = EventType.getEventType(IngestionEvent.class);
+
+    public static void install(Engine engine) {
+        engine.setMonitor(new JfrEngineMonitor());
+    }
+
+    @Override
+    public Object beginFrame(Engine engine) {
+        return FRAME.isEnabled() ? begin(new FrameEvent()) : null;
+    }
+
+    @Override
+    public void endFrame(Object scope, Engine engine) {
+        if (scope != null) {
+            FrameEvent event = (FrameEvent) scope;
+            event.entityCount = engine.getEntities().size();
+            event.systemCount = engine.getSystems().size();
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginSystem(EntitySystem system) {
+        return SYSTEM_UPDATE.isEnabled() ? begin(new SystemUpdateEvent()) : null;
+    }
+
+    @Override
+    public void endSystem(Object scope, EntitySystem system, int entitiesProcessed) {
+        if (scope != null) {
+            SystemUpdateEvent event = (SystemUpdateEvent) scope;
+            event.systemClass = system.getClass();
+            event.entitiesProcessed = entitiesProcessed;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginComponentOperations() {
+        return COMPONENT_OPERATIONS.isEnabled() ? begin(new ComponentOperationsEvent()) : null;
+    }
+
+    @Override
+    public void endComponentOperations(Object scope, int operationCount, int entityCount) {
+        if (scope != null) {
+            ComponentOperationsEvent event = (ComponentOperationsEvent) scope;
+            event.operationCount = operationCount;
+            event.entityCount = entityCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginEntityOperations() {
+        return ENTITY_OPERATIONS.isEnabled() ? begin(new EntityOperationsEvent()) : null;
+    }
+
+    @Override
+    public void endEntityOperations(Object scope, int operationCount) {
+        if (scope != null) {
+            EntityOperationsEvent event = (EntityOperationsEvent) scope;
+            event.operationCount = operationCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginAspectRegistration() {
+        return ASPECT_REGISTRATION.isEnabled() ? begin(new AspectRegistrationEvent()) : null;
+    }
+
+    @Override
+    public void endAspectRegistration(Object scope, Aspect aspect, int entityCount) {
+        if (scope != null) {
+            AspectRegistrationEvent event = (AspectRegistrationEvent) scope;
+            event.aspectIndex = aspect.getIndex();
+            event.entityCount = entityCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginNodeRegistration() {
+        return NODE_REGISTRATION.isEnabled() ? begin(new NodeRegistrationEvent()) : null;
+    }
+
+    @Override
+    public void endNodeRegistration(Object scope, Class<? extends Node> nodeClass, int nodeCount) {
+        if (scope != null) {
+            NodeRegistrationEvent event = (NodeRegistrationEvent) scope;
+            event.nodeClass = nodeClass;
+            event.nodeCount = nodeCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginSignalFlush() {
+        return SIGNAL_FLUSH.isEnabled() ? begin(new SignalFlushEvent()) : null;
+    }
+
+    @Override
+    public void endSignalFlush(Object scope, UpdatePhase phase, int signalCount) {
+        if (scope != null) {
+            SignalFlushEvent event = (SignalFlushEvent) scope;
+            event.phase = phase.name();
+            event.signalCount = signalCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginIngestion() {
+        return INGESTION.isEnabled() ? begin(new IngestionEvent()) : null;
+    }
+
+    @Override
+    public void endIngestion(Object scope, UpdatePhase phase, int messageCount) {
+        if (scope != null) {
+            IngestionEvent event = (IngestionEvent) scope;
+            event.phase = phase.name();
+            event.messageCount = messageCount;
+            event.commit();
+        }
+    }
+
+    private static <T extends Event> T begin(T event) {
+        event.begin();
+        return event;
+    }
+}
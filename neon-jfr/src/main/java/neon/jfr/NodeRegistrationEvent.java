@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.NodeRegistration")
+@Label("Node Registration")
+@Description("Node family registered with the engine")
+@Category({"Neon", "Registration"})
+@StackTrace(false)
+final class NodeRegistrationEvent extends Event {
+
+    @Label("Node Class")
+    Class<?> nodeClass;
+
+    @Label("Nodes")
+    int nodeCount;
+}
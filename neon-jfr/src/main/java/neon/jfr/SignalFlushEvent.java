@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.SignalFlush")
+@Label("Signal Flush")
+@Description("Queued signals delivered in an update phase")
+@Category({"Neon", "Dispatch"})
+@StackTrace(false)
+final class SignalFlushEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Signals")
+    int signalCount;
+}
@@ -0,0 +1,22 @@
+package neon.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neon.SystemUpdate")
+@Label("System Update")
+@Description("Entity system update")
+@Category({"Neon", "Systems"})
+@StackTrace(false)
+final class SystemUpdateEvent extends Event {
+
+    @Label("System")
+    Class<?> systemClass;
+
+    @Label("Entities Processed")
+    int entitiesProcessed;
+}
@@ -0,0 +1,150 @@
+package neon.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import neon.core.Aspect;
+import neon.core.Component;
+import neon.core.Engine;
+import neon.core.Entity;
+import neon.core.UpdatePhase;
+import neon.event.Signal;
+import neon.system.IteratingAspectSystem;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JfrEngineMonitorTest extends Assert {
+
+    @Test
+    public void testRecordedEvents() throws Exception {
+        Map<String, RecordedEvent> events = new HashMap<>();
+        Path file = Files.createTempFile("neon", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FrameEvent.class);
+            recording.enable(SystemUpdateEvent.class);
+            recording.enable(ComponentOperationsEvent.class);
+            recording.enable(EntityOperationsEvent.class);
+            recording.enable(AspectRegistrationEvent.class);
+            recording.enable(NodeRegistrationEvent.class);
+            recording.enable(SignalFlushEvent.class);
+            recording.enable(IngestionEvent.class);
+            recording.start();
+
+            Engine engine = new Engine();
+            JfrEngineMonitor.install(engine);
+            engine.addSystem(new MarkingSystem(new Aspect.Builder(engine.getTypes()).allOf(Position.class).get()));
+
+            Signal<String> signal = new Signal<>(true);
+            engine.addSignal(signal, UpdatePhase.END);
+            engine.signal(String.class);
+
+            for (int i = 0; i < 4; i++) {
+                Entity entity = engine.createEntity();
+                entity.addComponent(new Position());
+                engine.addEntity(entity);
+            }
+            engine.getIngestionQueue().offer("message");
+            signal.dispatch("value");
+            engine.update(0);
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> recorded = RecordingFile.readAllEvents(file);
+            for (RecordedEvent event : recorded) {
+                events.put(event.getEventType().getName(), event);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals(events.get("neon.Frame").getInt("entityCount"), 3);
+        assertEquals(events.get("neon.Frame").getInt("systemCount"), 1);
+        assertEquals(events.get("neon.SystemUpdate").getInt("entitiesProcessed"), 4);
+        assertEquals(events.get("neon.SystemUpdate").getClass("systemClass").getName(), MarkingSystem.class.getName());
+        assertEquals(events.get("neon.ComponentOperations").getInt("operationCount"), 4);
+        assertEquals(events.get("neon.EntityOperations").getInt("operationCount"), 1);
+        assertEquals(events.get("neon.AspectRegistration").getInt("entityCount"), 0);
+        assertEquals(events.get("neon.SignalFlush").getInt("signalCount"), 1);
+        assertEquals(events.get("neon.SignalFlush").getString("phase"), "END");
+        assertEquals(events.get("neon.Ingestion").getInt("messageCount"), 1);
+        assertFalse(events.containsKey("neon.NodeRegistration"));
+    }
+
+    @Test
+    public void testDisabledEventsDoNotAllocate() throws Exception {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            throw new SkipException("Thread allocation counters are not available");
+        }
+        com.sun.management.ThreadMXBean allocationThreads = (com.sun.management.ThreadMXBean) threads;
+        allocationThreads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        Engine engine = new Engine();
+        JfrEngineMonitor.install(engine);
+        engine.addSystem(new MovingSystem(new Aspect.Builder(engine.getTypes()).allOf(Position.class).get()));
+        Signal<String> signal = new Signal<>(true);
+        engine.addSignal(signal, UpdatePhase.END);
+        for (int i = 0; i < 100; i++) {
+            Entity entity = engine.createEntity();
+            entity.addComponent(new Position());
+            engine.addEntity(entity);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            engine.update(0);
+        }
+        long start = allocationThreads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 5000; i++) {
+            engine.update(0);
+        }
+        long allocated = allocationThreads.getThreadAllocatedBytes(threadId) - start;
+        assertEquals(allocated / 5000, 0, "Allocated " + allocated + " bytes in 5000 updates");
+    }
+
+    private static class MovingSystem extends IteratingAspectSystem {
+
+        MovingSystem(Aspect aspect) {
+            super(aspect);
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            entity.getComponent(Position.class).x += deltaTime;
+        }
+    }
+
+    private static class MarkingSystem extends IteratingAspectSystem {
+
+        MarkingSystem(Aspect aspect) {
+            super(aspect);
+        }
+
+        @Override
+        protected void processEntity(Entity entity, float deltaTime) {
+            if (entity.getComponent(Marker.class) == null) {
+                entity.addComponent(new Marker());
+                if (getEngine().getEntities().get(0) == entity) {
+                    getEngine().removeEntity(entity);
+                }
+            }
+        }
+    }
+
+    public static class Position extends Component {
+        float x;
+    }
+
+    public static class Marker extends Component {
+    }
+}
@@ -0,0 +1,448 @@
+package neon.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public final class MetadataProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "$$Metadata";
+    static final String DISPATCHER_SUFFIX = "$$Dispatcher";
+    static final String NODE_SUFFIX = "$$Node";
+
+    private static final String WIRE = "neon.core.Wire";
+    private static final String ENGINE = "neon.core.Engine";
+    private static final String ENTITY_SYSTEM = "neon.core.EntitySystem";
+    private static final String COMPONENT_MAPPER = "neon.core.ComponentMapper";
+    private static final String NODE_FAMILY = "neon.core.NodeFamily";
+    private static final String NODE = "neon.core.Node";
+    private static final String ENTITY = "neon.core.Entity";
+    private static final String COMPONENT = "neon.core.Component";
+    private static final String NODE_SYSTEM = "neon.system.NodeSystem";
+    private static final String EVENT_LISTENER = "neon.event.EventListener";
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        if (elements.getTypeElement(ENGINE) == null) {
+            return false;
+        }
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type);
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        for (TypeElement memberType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(memberType);
+        }
+
+        String binaryName = elements.getBinaryName(type).toString();
+        if (binaryName.endsWith(SUFFIX) || binaryName.endsWith(DISPATCHER_SUFFIX)
+                || binaryName.endsWith(NODE_SUFFIX) || !isAccessible(type, type)) {
+            return;
+        }
+        if (type.getKind() == ElementKind.INTERFACE) {
+            processListener(type);
+            processNode(type);
+            return;
+        }
+        if (type.getKind() != ElementKind.CLASS) {
+            return;
+        }
+
+        List<String> statements = new ArrayList<>();
+        if (!addListenerStatements(type, statements) || !addFieldStatements(type, statements)) {
+            return;
+        }
+        String nodeClass = getNodeClass(type);
+
+        if (!statements.isEmpty() || nodeClass != null) {
+            write(type, statements, nodeClass);
+        }
+    }
+
+    private void processListener(TypeElement type) {
+        if (!types.isAssignable(types.erasure(type.asType()), getErasure(EVENT_LISTENER))) {
+            return;
+        }
+
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT)
+                    || method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+            if (method.getReturnType().getKind() != TypeKind.VOID) {
+                return;
+            }
+            for (VariableElement parameter : method.getParameters()) {
+                if (!isAccessible(parameter.asType(), type)) {
+                    return;
+                }
+            }
+            for (TypeMirror thrownType : method.getThrownTypes()) {
+                if (!isAccessible(thrownType, type)) {
+                    return;
+                }
+            }
+            methods.add(method);
+        }
+
+        writeDispatcher(type, methods);
+    }
+
+    private void processNode(TypeElement type) {
+        TypeMirror nodeType = getErasure(NODE);
+        if (!type.getTypeParameters().isEmpty() || types.isSameType(type.asType(), nodeType)
+                || !types.isAssignable(types.erasure(type.asType()), nodeType)) {
+            return;
+        }
+
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT)
+                    || method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+            if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) {
+                return;
+            }
+            TypeMirror returnType = method.getReturnType();
+            if (method.getSimpleName().contentEquals("getEntity") && types.isSameType(returnType, getErasure(ENTITY))) {
+                continue;
+            }
+            if (returnType.getKind() != TypeKind.DECLARED || !types.isAssignable(returnType, getErasure(COMPONENT))
+                    || !isAccessible(returnType, type)) {
+                return;
+            }
+            methods.add(method);
+        }
+
+        writeNode(type, methods);
+    }
+
+    private boolean addListenerStatements(TypeElement type, List<String> statements) {
+        TypeMirror listenerType = getErasure(EVENT_LISTENER);
+        for (TypeMirror i : type.getInterfaces()) {
+            if (types.isAssignable(types.erasure(i), listenerType)) {
+                TypeElement listener = (TypeElement) types.asElement(i);
+                if (!isAccessible(listener, type)) {
+                    return false;
+                }
+                statements.add("engine.event(" + getName(listener) + ".class).add(object);");
+            }
+        }
+        return true;
+    }
+
+    private boolean addFieldStatements(TypeElement type, List<String> statements) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!isWired(field) || field.getModifiers().contains(Modifier.FINAL)) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Private @Wire field prevents generated injection, falling back to reflection", field);
+                return false;
+            }
+
+            String value = getBindValue(field, type);
+            if (value == null) {
+                return false;
+            }
+            if (!value.isEmpty()) {
+                statements.add("object." + field.getSimpleName() + " = " + value + ";");
+            }
+        }
+        return true;
+    }
+
+    private String getBindValue(VariableElement field, TypeElement type) {
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind() != TypeKind.DECLARED) {
+            return "";
+        }
+
+        TypeElement fieldElement = (TypeElement) types.asElement(fieldType);
+        TypeMirror erasure = types.erasure(fieldType);
+        if (types.isAssignable(erasure, getErasure(ENGINE))) {
+            if (!isAccessible(fieldElement, type)) {
+                return null;
+            }
+            return "(" + getName(fieldElement) + ") engine";
+        } else if (types.isAssignable(erasure, getErasure(ENTITY_SYSTEM))) {
+            if (!isAccessible(fieldElement, type)) {
+                return null;
+            }
+            return "getSystem(engine, " + getName(fieldElement) + ".class, \"" + field.getSimpleName() + "\")";
+        } else if (types.isAssignable(erasure, getErasure(COMPONENT_MAPPER))) {
+            TypeElement elementType = getElementType((DeclaredType) fieldType, type);
+            return elementType != null ? "engine.getComponentMapper(" + getName(elementType) + ".class)" : null;
+        } else if (types.isAssignable(erasure, getErasure(NODE_FAMILY))) {
+            TypeElement elementType = getElementType((DeclaredType) fieldType, type);
+            return elementType != null ? "engine.getTypes().getNodeFamily(" + getName(elementType) + ".class)" : null;
+        }
+        return "";
+    }
+
+    private String getNodeClass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        TypeElement nodeSystem = elements.getTypeElement(NODE_SYSTEM);
+        if (superclass.getKind() != TypeKind.DECLARED || nodeSystem == null
+                || !types.isAssignable(types.erasure(superclass), types.erasure(nodeSystem.asType()))) {
+            return null;
+        }
+
+        TypeElement nodeType = getElementType((DeclaredType) superclass, type);
+        return nodeType != null ? getName(nodeType) : null;
+    }
+
+    private TypeElement getElementType(DeclaredType type, TypeElement context) {
+        List<? extends TypeMirror> typeArguments = type.getTypeArguments();
+        if (typeArguments.isEmpty() || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement elementType = (TypeElement) types.asElement(typeArguments.get(0));
+        return isAccessible(elementType, context) ? elementType : null;
+    }
+
+    private boolean isWired(Element field) {
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(WIRE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccessible(TypeElement type, TypeElement context) {
+        PackageElement contextPackage = elements.getPackageOf(context);
+        Element element = type;
+        while (element instanceof TypeElement) {
+            TypeElement typeElement = (TypeElement) element;
+            Set<Modifier> modifiers = typeElement.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(typeElement).equals(contextPackage)) {
+                return false;
+            }
+            NestingKind nesting = typeElement.getNestingKind();
+            if (nesting != NestingKind.TOP_LEVEL && nesting != NestingKind.MEMBER) {
+                return false;
+            }
+            element = typeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeMirror type, TypeElement context) {
+        TypeMirror erasure = types.erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) erasure).getComponentType(), context);
+        } else if (erasure.getKind() == TypeKind.DECLARED) {
+            return isAccessible((TypeElement) types.asElement(erasure), context);
+        }
+        return erasure.getKind().isPrimitive();
+    }
+
+    private TypeMirror getErasure(String className) {
+        return types.erasure(elements.getTypeElement(className).asType());
+    }
+
+    private String getName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private void writeDispatcher(TypeElement type, List<ExecutableElement> methods) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + DISPATCHER_SUFFIX;
+        String typeName = getName(type);
+
+        if (elements.getTypeElement(binaryName + DISPATCHER_SUFFIX) != null) {
+            return;
+        }
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(binaryName + DISPATCHER_SUFFIX, type).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+            writer.write("public final class " + simpleName + " extends neon.event.EventDispatcher<" + typeName + "> implements "
+                    + typeName + " {\n");
+
+            for (ExecutableElement method : methods) {
+                StringBuilder parameters = new StringBuilder();
+                StringBuilder arguments = new StringBuilder();
+                List<? extends VariableElement> methodParameters = method.getParameters();
+                for (int i = 0; i < methodParameters.size(); i++) {
+                    if (i > 0) {
+                        parameters.append(", ");
+                        arguments.append(", ");
+                    }
+                    parameters.append(types.erasure(methodParameters.get(i).asType())).append(" arg").append(i);
+                    arguments.append("arg").append(i);
+                }
+
+                StringBuilder thrown = new StringBuilder();
+                for (TypeMirror thrownType : method.getThrownTypes()) {
+                    thrown.append(thrown.length() == 0 ? " throws " : ", ").append(types.erasure(thrownType));
+                }
+
+                writer.write("\n    @Override\n");
+                writer.write("    public void " + method.getSimpleName() + "(" + parameters + ")" + thrown + " {\n");
+                writer.write("        Object[] listeners = getListeners();\n");
+                writer.write("        for (int i = 0; i < listeners.length; i++) {\n");
+                writer.write("            ((" + typeName + ") listeners[i])." + method.getSimpleName() + "(" + arguments + ");\n");
+                writer.write("        }\n");
+                writer.write("    }\n");
+            }
+
+            writer.write("}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write dispatcher for " + typeName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void writeNode(TypeElement type, List<ExecutableElement> methods) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + NODE_SUFFIX;
+        String typeName = getName(type);
+
+        if (elements.getTypeElement(binaryName + NODE_SUFFIX) != null) {
+            return;
+        }
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(binaryName + NODE_SUFFIX, type).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("public final class " + simpleName + " extends neon.core.GeneratedNode implements " + typeName + " {\n\n");
+
+            writer.write("    public " + simpleName + "() {\n");
+            writer.write("        super(null, null);\n");
+            writer.write("    }\n\n");
+
+            writer.write("    private " + simpleName + "(neon.core.Entity entity, neon.core.ComponentType[] componentTypes) {\n");
+            writer.write("        super(entity, componentTypes);\n");
+            writer.write("    }\n");
+
+            StringBuilder componentClasses = new StringBuilder();
+            for (ExecutableElement method : methods) {
+                if (componentClasses.length() > 0) {
+                    componentClasses.append(", ");
+                }
+                componentClasses.append(types.erasure(method.getReturnType())).append(".class");
+            }
+
+            writer.write("\n    @Override\n");
+            writer.write("    protected Class<?>[] getComponentClasses() {\n");
+            writer.write("        return new Class<?>[] {" + componentClasses + "};\n");
+            writer.write("    }\n");
+
+            writer.write("\n    @Override\n");
+            writer.write("    protected neon.core.GeneratedNode newNode(neon.core.Entity entity, neon.core.ComponentType[] componentTypes) {\n");
+            writer.write("        return new " + simpleName + "(entity, componentTypes);\n");
+            writer.write("    }\n");
+
+            for (int i = 0; i < methods.size(); i++) {
+                ExecutableElement method = methods.get(i);
+                writer.write("\n    @Override\n");
+                writer.write("    public " + types.erasure(method.getReturnType()) + " " + method.getSimpleName() + "() {\n");
+                writer.write("        return getComponent(" + i + ");\n");
+                writer.write("    }\n");
+            }
+
+            writer.write("}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write node for " + typeName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void write(TypeElement type, List<String> statements, String nodeClass) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String typeName = getName(type);
+
+        if (elements.getTypeElement(binaryName + SUFFIX) != null) {
+            return;
+        }
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(binaryName + SUFFIX, type).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+            writer.write("public final class " + simpleName + " extends neon.core.ClassMetadata<" + typeName + "> {\n");
+
+            if (!statements.isEmpty()) {
+                writer.write("\n    @Override\n");
+                writer.write("    public void inject(" + typeName + " object, neon.core.Engine engine) {\n");
+                for (String statement : statements) {
+                    writer.write("        " + statement + "\n");
+                }
+                writer.write("    }\n");
+            }
+
+            if (nodeClass != null) {
+                writer.write("\n    @Override\n");
+                writer.write("    public Class<? extends neon.core.Node> getNodeClass() {\n");
+                writer.write("        return " + nodeClass + ".class;\n");
+                writer.write("    }\n");
+            }
+
+            writer.write("}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write metadata for " + typeName + ": " + e.getMessage(), type);
+        }
+    }
+}